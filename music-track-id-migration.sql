@@ -0,0 +1,17 @@
+-- Music 테이블 track_id 컬럼 추가 마이그레이션 스크립트
+-- 사용자별 추천 이력 조회 시 music_url 문자열을 분리하지 않고 track_id 만 인덱스로 조회하기 위함
+
+-- 1. track_id 컬럼 추가
+ALTER TABLE music
+ADD COLUMN track_id VARCHAR(64) NULL;
+
+-- 2. 기존 데이터의 track_id 채우기 ("https://open.spotify.com/track/TRACK_ID?si=..." 형식)
+UPDATE music
+SET track_id = SUBSTRING_INDEX(SUBSTRING_INDEX(music_url, '?', 1), '/', -1)
+WHERE track_id IS NULL;
+
+-- 3. (user_id, track_id) 복합 인덱스 추가
+CREATE INDEX idx_music_user_track ON music(user_id, track_id);
+
+-- 마이그레이션 완료 확인
+SELECT COUNT(*) AS total, COUNT(track_id) AS with_track_id FROM music;
@@ -0,0 +1,50 @@
+package com.madcamp.moody.groq;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GroqResponseParser (JSON 파싱 -> 스트리밍 복구 -> 정규식 추출 -> 기본값)
+ * 응답 형태별로 어느 경로를 타는지에 따라 비용이 크게 달라짐
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnalysisParsingBenchmark {
+
+    @Param({"json", "fenced", "chatty", "malformed", "quoted", "truncated", "garbage"})
+    String shape;
+
+    private final GroqResponseParser parser = new GroqResponseParser();
+    private String response;
+
+    @Setup
+    public void setUp() {
+        String json = "{\"genres\": [\"indie\", \"acoustic\", \"lo-fi\"], "
+                + "\"keywords\": [\"rainy\", \"calm\", \"nostalgic\", \"warm\", \"soft\"]}";
+        response = switch (shape) {
+            case "json" -> json;
+            case "fenced" -> "```json\n" + json + "\n```";
+            case "chatty" -> "Sure! Here is the analysis you asked for:\n" + json + "\nLet me know if you need more.";
+            // 끝 쉼표는 관대한 설정의 ObjectReader 가 그대로 읽음
+            case "malformed" -> json.substring(0, json.length() - 1) + ",}";
+            case "quoted" -> json.replace('"', '\'');
+            // 토큰 한도로 응답이 잘린 경우: 스트리밍 복구 경로
+            case "truncated" -> json.substring(0, json.length() - 12);
+            default -> "I could not analyze this text.";
+        };
+    }
+
+    @Benchmark
+    public GroqDTO.SpotifyAnalysisResult parse() {
+        return parser.parse(response);
+    }
+}
@@ -0,0 +1,65 @@
+package com.madcamp.moody.groq;
+
+import com.madcamp.moody.spotify.SpotifyDTO;
+import com.madcamp.moody.spotify.TrackPools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GroqService.analyzeTextAndRecommendMusic 의 중복 제거 루프 (셔플 + 이전 추천 이력 + 아티스트 중복 확인)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecommendationDedupeBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int poolSize;
+
+    // 사용자가 이미 추천받은 곡 수 (후보 중 일부와 겹침)
+    @Param({"0", "5000"})
+    int historySize;
+
+    private List<SpotifyDTO.MusicRecommendation.RecommendedTrack> pool;
+    private Set<String> previouslyRecommendedTrackIds;
+
+    @Setup
+    public void setUp() {
+        pool = TrackPools.generate(poolSize, 42L);
+        previouslyRecommendedTrackIds = new HashSet<>();
+        for (int i = 0; i < historySize; i++) {
+            // 짝수 번호 트랙은 후보와 겹치고, 나머지는 후보에 없는 곡
+            previouslyRecommendedTrackIds.add(i % 2 == 0 ? "track" + i : "old" + i);
+        }
+    }
+
+    // 10곡을 채우는 한 번의 선택
+    @Benchmark
+    public List<GroqDTO.MusicAnalysisResponse.RecommendedTrack> selectTenTracks() {
+        List<GroqDTO.MusicAnalysisResponse.RecommendedTrack> recommended = new ArrayList<>();
+        GroqService.appendNewArtistTracks(pool, previouslyRecommendedTrackIds, new HashSet<>(), 10,
+                recommended);
+        return recommended;
+    }
+
+    // 목표 곡 수가 후보 수와 같아 후보 전체를 훑는 경우
+    @Benchmark
+    public List<GroqDTO.MusicAnalysisResponse.RecommendedTrack> fullScan() {
+        List<GroqDTO.MusicAnalysisResponse.RecommendedTrack> recommended = new ArrayList<>();
+        GroqService.appendNewArtistTracks(pool, previouslyRecommendedTrackIds, new HashSet<>(), poolSize,
+                recommended);
+        return recommended;
+    }
+}
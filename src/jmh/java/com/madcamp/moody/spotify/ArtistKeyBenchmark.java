@@ -0,0 +1,62 @@
+package com.madcamp.moody.spotify;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 후보 트랙 전체의 아티스트 키 계산 비용
+ * - legacyRegexSplit: ArtistKey 이전 방식 (비교 기준)
+ * - normalizeUncached: ArtistKey 스캐너만 (캐시 없음)
+ * - artistKeyCached: 실제 사용 경로 (반복 호출 시 캐시 적중)
+ * -prof gc 의 gc.alloc.rate.norm 을 poolSize 로 나누면 후보 한 곡당 할당량
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArtistKeyBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int poolSize;
+
+    private String[] artists;
+
+    @Setup
+    public void setUp() {
+        List<SpotifyDTO.MusicRecommendation.RecommendedTrack> pool = TrackPools.generate(poolSize, 42L);
+        artists = new String[pool.size()];
+        for (int i = 0; i < artists.length; i++) {
+            artists[i] = pool.get(i).getArtist();
+        }
+    }
+
+    @Benchmark
+    public void legacyRegexSplit(Blackhole blackhole) {
+        for (String artist : artists) {
+            blackhole.consume(artist.split(",|ft\\.|feat\\.|&")[0].trim().toLowerCase());
+        }
+    }
+
+    @Benchmark
+    public void normalizeUncached(Blackhole blackhole) {
+        for (String artist : artists) {
+            blackhole.consume(ArtistKey.normalize(artist));
+        }
+    }
+
+    @Benchmark
+    public void artistKeyCached(Blackhole blackhole) {
+        for (String artist : artists) {
+            blackhole.consume(ArtistKey.of(artist));
+        }
+    }
+}
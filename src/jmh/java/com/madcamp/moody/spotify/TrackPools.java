@@ -0,0 +1,37 @@
+package com.madcamp.moody.spotify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크용 후보 트랙 생성 (실제 플레이리스트 검색 결과와 비슷한 분포)
+ * - 같은 아티스트의 곡이 여러 번 등장하고, 일부는 "A, B" / "A feat. B" / "A & B" 형태
+ * - 약 1/5 은 한글 아티스트 이름 (국내 마켓)
+ * - 인기도는 0~100 에 고르게 분포
+ */
+public final class TrackPools {
+
+    private TrackPools() {
+    }
+
+    public static List<SpotifyDTO.MusicRecommendation.RecommendedTrack> generate(int size, long seed) {
+        Random random = new Random(seed);
+        int artistCount = Math.max(10, size / 4);
+        List<SpotifyDTO.MusicRecommendation.RecommendedTrack> tracks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String artist = (random.nextInt(5) == 0 ? "가수 " : "Artist ") + random.nextInt(artistCount);
+            switch (random.nextInt(6)) {
+                case 0 -> artist += ", Artist " + random.nextInt(artistCount);
+                case 1 -> artist += " feat. Artist " + random.nextInt(artistCount);
+                case 2 -> artist += " & Artist " + random.nextInt(artistCount);
+                default -> { }
+            }
+            String trackId = "track" + i;
+            String title = (i % 50 == 0 ? "Song " + i + " (Instrumental)" : "Song " + i);
+            tracks.add(new SpotifyDTO.MusicRecommendation.RecommendedTrack(
+                    title, artist, "https://open.spotify.com/track/" + trackId, null, trackId, random.nextInt(101)));
+        }
+        return tracks;
+    }
+}
@@ -0,0 +1,50 @@
+package com.madcamp.moody.spotify;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SpotifyService 의 마켓별 트랙 선택 단계 (셔플, 인기도 구간 분류, fillFromBucket)
+ * 아티스트 이름 정규화만 따로 보려면 ArtistKeyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TrackSelectionBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int poolSize;
+
+    private List<SpotifyDTO.MusicRecommendation.RecommendedTrack> pool;
+
+    @Setup
+    public void setUp() {
+        pool = TrackPools.generate(poolSize, 42L);
+    }
+
+    // 한 마켓에서 5곡 선택 (selectTracksForMarket 이 후보 목록을 섞으므로 매번 복사본 사용)
+    @Benchmark
+    public List<SpotifyDTO.MusicRecommendation.RecommendedTrack> selectTracksForMarket() {
+        return SpotifyService.selectTracksForMarket("KR", new ArrayList<>(pool), new HashSet<>(), 5);
+    }
+
+    // 후보 전체를 훑는 최악의 경우 (목표 곡 수가 후보 수와 같음)
+    @Benchmark
+    public List<SpotifyDTO.MusicRecommendation.RecommendedTrack> fillFromBucketFullScan() {
+        List<SpotifyDTO.MusicRecommendation.RecommendedTrack> selected = new ArrayList<>();
+        SpotifyService.fillFromBucket(selected, pool, poolSize, new HashSet<>());
+        return selected;
+    }
+
+}
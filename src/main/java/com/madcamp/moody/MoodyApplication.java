@@ -4,12 +4,23 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
+import java.util.Map;
+
 @SpringBootApplication
 @EnableJpaAuditing
 public class MoodyApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(MoodyApplication.class, args);
+		SpringApplication application = new SpringApplication(MoodyApplication.class);
+		// 관측 관련 기본값 (설정 파일/환경 변수에 같은 키가 있으면 그 값이 우선)
+		application.setDefaultProperties(Map.of(
+				"management.endpoints.web.exposure.include", "health,prometheus",
+				// 단계별 타이머의 p99 를 Prometheus 에서 histogram_quantile 로 계산할 수 있도록 버킷 기록
+				"management.metrics.distribution.percentiles-histogram.moody.recommendation", "true",
+				// span 은 외부로 보내지 않고 로그의 traceId/spanId 로만 사용하므로 모든 요청을 기록
+				"management.tracing.sampling.probability", "1.0"
+		));
+		application.run(args);
 	}
 
 }
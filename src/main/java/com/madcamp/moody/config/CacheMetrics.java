@@ -0,0 +1,45 @@
+package com.madcamp.moody.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 직접 만든 캐시(LinkedHashMap 기반 등)의 지표를 Micrometer 캐시 지표와 같은 이름으로 등록
+ * - cache.gets{result=hit|miss}, cache.evictions, cache.size (tag cache=캐시 이름)
+ * - 적중률: sum(rate(cache_gets_total{cache="...",result="hit"}[5m])) / sum(rate(cache_gets_total{cache="..."}[5m]))
+ * 값은 각 캐시가 가진 카운터를 그대로 읽으므로 같은 이벤트를 두 번 세지 않음
+ */
+public final class CacheMetrics {
+
+    private CacheMetrics() {
+    }
+
+    public static <T> void bind(MeterRegistry registry, String cacheName, T cache, ToDoubleFunction<T> size,
+                                LongAdder hits, LongAdder misses, LongAdder evictions) {
+        Gauge.builder("cache.size", cache, size)
+                .description("캐시 항목 수")
+                .tag("cache", cacheName)
+                .register(registry);
+        counter("cache.gets", cacheName, hits, "캐시 적중 수").tag("result", "hit").register(registry);
+        counter("cache.gets", cacheName, misses, "캐시 미스 수").tag("result", "miss").register(registry);
+        counter("cache.evictions", cacheName, evictions, "크기 제한으로 제거된 항목 수").register(registry);
+    }
+
+    // 캐시별 추가 이벤트 (무효화, 재검증 등): moody.cache.<event>{cache=캐시 이름}
+    public static void bindEvent(MeterRegistry registry, String cacheName, String event, LongAdder count,
+                                 String description) {
+        counter("moody.cache." + event, cacheName, count, description).register(registry);
+    }
+
+    // FunctionCounter 는 대상 객체를 약한 참조로 들고 있으므로, 캐시가 필드로 가진 LongAdder 를 직접 넘김
+    private static FunctionCounter.Builder<LongAdder> counter(String name, String cacheName, LongAdder count,
+                                                              String description) {
+        return FunctionCounter.builder(name, count, LongAdder::sum)
+                .description(description)
+                .tag("cache", cacheName);
+    }
+}
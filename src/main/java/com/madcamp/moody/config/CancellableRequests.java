@@ -0,0 +1,68 @@
+package com.madcamp.moody.config;
+
+import org.apache.hc.core5.concurrent.Cancellable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 다른 스레드에서 진행 중인 외부 HTTP 요청을 끊기 위한 범위(Scope)
+ * - Future.cancel(true) 의 인터럽트로는 HttpClient 의 소켓 읽기가 멈추지 않아 응답이 올 때까지 커넥션을 점유함
+ * - Scope.call 안에서 만든 요청(HttpClientConfig 의 요청 팩토리가 등록)은 Scope.cancel() 로 커넥션을 닫아 풀에 반환
+ */
+public final class CancellableRequests {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private CancellableRequests() {
+    }
+
+    // 현재 스레드가 Scope 안이면 요청을 등록 (이미 취소된 Scope 면 바로 끊음)
+    public static void register(Cancellable request) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.register(request);
+        }
+    }
+
+    public static final class Scope {
+
+        private final AtomicReference<Cancellable> request = new AtomicReference<>();
+        private volatile boolean cancelled;
+
+        public <T> T call(Callable<T> task) throws Exception {
+            Scope previous = CURRENT.get();
+            CURRENT.set(this);
+            try {
+                return task.call();
+            } finally {
+                // 끝난 요청은 취소 대상에서 제외 (커넥션은 이미 풀에 반환됨)
+                request.set(null);
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        }
+
+        public void cancel() {
+            cancelled = true;
+            Cancellable current = request.getAndSet(null);
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void register(Cancellable current) {
+            request.set(current);
+            if (cancelled && request.compareAndSet(current, null)) {
+                current.cancel();
+            }
+        }
+    }
+}
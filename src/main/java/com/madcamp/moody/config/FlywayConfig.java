@@ -0,0 +1,21 @@
+package com.madcamp.moody.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 스키마 마이그레이션 (src/main/resources/db/migration)
+ * 기존 DB 는 flyway_schema_history 없이 테이블만 있으므로 버전 0 으로 baseline 을 잡고
+ * V1 부터 실행 (모든 스크립트가 이미 있는 테이블/컬럼/인덱스는 건너뛰도록 작성됨)
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayConfigurationCustomizer flywayBaselineCustomizer() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("0");
+    }
+}
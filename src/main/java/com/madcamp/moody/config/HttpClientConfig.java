@@ -0,0 +1,155 @@
+package com.madcamp.moody.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.net.URI;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Groq/Spotify 외부 호출용 HTTP 클라이언트 설정
+ * - 호스트별 커넥션 풀 (keep-alive 커넥션 재사용)
+ * - connect / read / 풀 대기 타임아웃
+ * - gzip 응답 자동 해제 (HttpClient 기본 동작)
+ * - CancellableRequests.Scope 안에서 만든 요청은 다른 스레드에서 끊을 수 있음 (hedge 에서 진 요청 등)
+ */
+@Configuration
+public class HttpClientConfig {
+
+    public static final HttpHost GROQ_HOST = new HttpHost("https", "api.groq.com", 443);
+    public static final HttpHost SPOTIFY_API_HOST = new HttpHost("https", "api.spotify.com", 443);
+    public static final HttpHost SPOTIFY_ACCOUNTS_HOST = new HttpHost("https", "accounts.spotify.com", 443);
+
+    @Value("${http.client.max-total:100}")
+    private int maxTotal;
+
+    @Value("${http.client.max-per-route:10}")
+    private int defaultMaxPerRoute;
+
+    @Value("${http.client.max-per-route.groq:20}")
+    private int groqMaxPerRoute;
+
+    @Value("${http.client.max-per-route.spotify-api:50}")
+    private int spotifyApiMaxPerRoute;
+
+    @Value("${http.client.max-per-route.spotify-accounts:5}")
+    private int spotifyAccountsMaxPerRoute;
+
+    @Value("${http.client.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${http.client.read-timeout-ms:15000}")
+    private long readTimeoutMs;
+
+    @Value("${http.client.pool-wait-timeout-ms:1000}")
+    private long poolWaitTimeoutMs;
+
+    @Bean
+    public PoolingHttpClientConnectionManager httpConnectionManager() {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                .setTimeToLive(TimeValue.ofMinutes(5))
+                .build();
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(defaultMaxPerRoute)
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+
+        // 호스트별 풀 크기 (HTTPS 경로는 secure=true 로 만들어야 실제 요청 경로와 일치함)
+        connectionManager.setMaxPerRoute(secureRoute(GROQ_HOST), groqMaxPerRoute);
+        connectionManager.setMaxPerRoute(secureRoute(SPOTIFY_API_HOST), spotifyApiMaxPerRoute);
+        connectionManager.setMaxPerRoute(secureRoute(SPOTIFY_ACCOUNTS_HOST), spotifyAccountsMaxPerRoute);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient outboundHttpClient(PoolingHttpClientConnectionManager httpConnectionManager) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolWaitTimeoutMs))
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory clientHttpRequestFactory(CloseableHttpClient outboundHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(outboundHttpClient) {
+            @Override
+            protected ClassicHttpRequest createHttpUriRequest(HttpMethod httpMethod, URI uri) {
+                ClassicHttpRequest request = super.createHttpUriRequest(httpMethod, uri);
+                if (request instanceof Cancellable cancellable) {
+                    CancellableRequests.register(cancellable);
+                }
+                return request;
+            }
+        };
+    }
+
+    /**
+     * 커넥션 풀 사용 현황
+     * - 전체: httpcomponents.httpclient.pool.* (Micrometer 기본 binder)
+     * - 호스트별: moody.http.client.pool.{leased,pending,available,max}{host}
+     * - leased 가 max 에 닿거나 pending 이 쌓이면 포화 상태 (moody.http.client.pool.saturated = 1)
+     */
+    @Bean
+    public MeterBinder httpConnectionPoolMetrics(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return registry -> {
+            new PoolingHttpClientConnectionManagerMetricsBinder(httpConnectionManager, "outbound").bindTo(registry);
+            for (HttpHost host : new HttpHost[] {GROQ_HOST, SPOTIFY_API_HOST, SPOTIFY_ACCOUNTS_HOST}) {
+                HttpRoute route = secureRoute(host);
+                poolGauge(registry, "leased", host, httpConnectionManager, pool -> pool.getStats(route).getLeased());
+                poolGauge(registry, "pending", host, httpConnectionManager, pool -> pool.getStats(route).getPending());
+                poolGauge(registry, "available", host, httpConnectionManager,
+                        pool -> pool.getStats(route).getAvailable());
+                poolGauge(registry, "max", host, httpConnectionManager, pool -> pool.getStats(route).getMax());
+                poolGauge(registry, "saturated", host, httpConnectionManager, pool -> {
+                    PoolStats stats = pool.getStats(route);
+                    return stats.getPending() > 0 || stats.getLeased() >= stats.getMax() ? 1 : 0;
+                });
+            }
+        };
+    }
+
+    public static HttpRoute secureRoute(HttpHost host) {
+        return new HttpRoute(host, null, true);
+    }
+
+    private static void poolGauge(MeterRegistry registry, String name, HttpHost host,
+                                  PoolingHttpClientConnectionManager connectionManager,
+                                  ToDoubleFunction<PoolingHttpClientConnectionManager> value) {
+        Gauge.builder("moody.http.client.pool." + name, connectionManager, value)
+                .tag("host", host.getHostName())
+                .register(registry);
+    }
+}
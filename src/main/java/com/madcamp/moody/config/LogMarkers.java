@@ -0,0 +1,16 @@
+package com.madcamp.moody.config;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * 로그 마커
+ * - SAMPLED: 트랙마다 찍히는 로그처럼 양이 많은 디버그 로그, 일부만 남김 (SamplingTurboFilter, logback-spring.xml)
+ */
+public final class LogMarkers {
+
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private LogMarkers() {
+    }
+}
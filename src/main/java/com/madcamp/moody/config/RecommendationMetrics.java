@@ -0,0 +1,68 @@
+package com.madcamp.moody.config;
+
+import com.madcamp.moody.music.MusicRegion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * 추천 파이프라인 계측 (Micrometer Observation)
+ * - 요청 전체: moody.recommendation (타이머 + tracing span)
+ * - 단계별: moody.recommendation.stage{stage, market, region} (타이머 + 요청 span 의 하위 span)
+ * - 재시도/fallback 같은 사건: moody.recommendation.events{event} (카운터)
+ * 값이 없는 태그는 "none" (Prometheus 시계열마다 태그 키가 같아야 함)
+ */
+@Component
+public class RecommendationMetrics {
+
+    public static final String REQUEST = "moody.recommendation";
+    public static final String STAGE = "moody.recommendation.stage";
+    public static final String EVENTS = "moody.recommendation.events";
+
+    private static final String NONE = "none";
+
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+
+    public RecommendationMetrics(ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+        this.observationRegistry = observationRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // 추천 요청 하나 전체
+    public <T> T request(MusicRegion region, Supplier<T> body) {
+        return Observation.createNotStarted(REQUEST, observationRegistry)
+                .contextualName("recommendation")
+                .lowCardinalityKeyValue("region", region != null ? region.name() : NONE)
+                .observe(body);
+    }
+
+    public <T> T stage(String stage, String market, MusicRegion region, Supplier<T> body) {
+        return newStage(stage, market, region).observe(body);
+    }
+
+    public void stage(String stage, String market, MusicRegion region, Runnable body) {
+        newStage(stage, market, region).observe(body);
+    }
+
+    // 검사 예외를 던지는 단계 (Spotify/Groq HTTP 호출 등), 예외는 error 태그로 기록되고 그대로 전달됨
+    public <T> T stageChecked(String stage, String market, MusicRegion region, Callable<T> body) throws Exception {
+        return newStage(stage, market, region).observeChecked(body::call);
+    }
+
+    public void count(String event) {
+        meterRegistry.counter(EVENTS, "event", event).increment();
+    }
+
+    private Observation newStage(String stage, String market, MusicRegion region) {
+        return Observation.createNotStarted(STAGE, observationRegistry)
+                .contextualName(stage)
+                .lowCardinalityKeyValue("stage", stage)
+                .lowCardinalityKeyValue("market", market != null && !market.isEmpty() ? market : NONE)
+                .lowCardinalityKeyValue("region", region != null ? region.name() : NONE);
+    }
+}
@@ -0,0 +1,44 @@
+package com.madcamp.moody.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LogMarkers.SAMPLED 마커가 붙은 로그를 메시지 형식별로 sampleRate 건 중 1 건만 통과시키는 logback 필터
+ * - 레벨이 꺼져 있으면 개수를 세지 않고 바로 버림 (꺼진 디버그 로그 비용은 그대로)
+ * - 마커가 없는 로그는 관여하지 않음
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private int sampleRate = 100;
+    // 메시지 형식(상수 문자열)별 호출 수
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (marker == null || !marker.contains(LogMarkers.SAMPLED) || format == null) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.DENY;
+        }
+        long count = counters.computeIfAbsent(format, key -> new AtomicLong()).getAndIncrement();
+        return count % sampleRate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    // logback-spring.xml 의 <sampleRate>
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+}
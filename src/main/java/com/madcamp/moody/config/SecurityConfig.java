@@ -1,10 +1,20 @@
 package com.madcamp.moody.config;
 
 import com.madcamp.moody.user.OAuth2UserServiceRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
@@ -24,6 +34,41 @@ import jakarta.servlet.http.HttpServletResponse;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
+    /**
+     * /actuator/** 전용 체인 (로그인 체인보다 먼저 적용)
+     * - 헬스 체크만 공개
+     * - Prometheus 수집은 moody.metrics.username/password 로 Basic 인증 (비밀번호를 설정하지 않으면 아무도 접근할 수 없음)
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http,
+                                                   @Value("${moody.metrics.username:prometheus}") String username,
+                                                   @Value("${moody.metrics.password:}") String password) throws Exception {
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager();
+        if (password != null && !password.isBlank()) {
+            PasswordEncoder encoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+            users.createUser(User.withUsername(username).password(encoder.encode(password)).roles("METRICS").build());
+        } else {
+            log.warn("moody.metrics.password 가 설정되지 않아 /actuator/prometheus 에 접근할 수 없습니다.");
+        }
+
+        http
+            .securityMatcher("/actuator/**")
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/prometheus").hasRole("METRICS")
+                .anyRequest().denyAll()
+            )
+            .httpBasic(Customizer.withDefaults())
+            .userDetailsService(users)
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http, OAuth2UserServiceRouter oAuth2UserServiceRouter) throws Exception {
         http
@@ -75,20 +120,16 @@ public class SecurityConfig {
                     String country = oauth2User.getAttribute("country");
                     boolean isSpotifyUser = (displayName != null) || (country != null);
                     
-                    System.out.println("=== Authentication Success Handler ===");
-                    System.out.println("사용자 타입: " + (isSpotifyUser ? "Spotify" : "카카오"));
-                    System.out.println("사용자 ID: " + oauth2User.getAttribute("id"));
-                    System.out.println("세션 ID: " + request.getSession().getId());
+                    log.info("로그인 성공: 사용자 타입={}, 사용자 ID={}", isSpotifyUser ? "Spotify" : "카카오", oauth2User.getAttribute("id"));
                     
                     // 세션에 로그인 제공자 정보 저장
                     jakarta.servlet.http.HttpSession session = request.getSession();
                     if (isSpotifyUser) {
                         session.setAttribute("spotify_logged_in", true);
                         session.setAttribute("spotify_user_id", oauth2User.getAttribute("id"));
-                        System.out.println("Spotify 로그인 정보를 세션에 저장");
+                        log.debug("Spotify 로그인 정보를 세션에 저장");
                         
                         // Spotify 사용자도 dashboard로 리다이렉트
-                        System.out.println("Spotify 사용자를 dashboard로 리다이렉트");
                     } else {
                         // 카카오 관련 코드/주석 완전 삭제
                     }
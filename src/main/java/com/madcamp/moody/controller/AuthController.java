@@ -3,12 +3,15 @@ package com.madcamp.moody.controller;
 import com.madcamp.moody.music.MusicGenre;
 import com.madcamp.moody.music.MusicRegion;
 import com.madcamp.moody.user.User;
+import com.madcamp.moody.user.UserLookupService;
 import com.madcamp.moody.user.UserRepository;
 
 import java.util.List;
 import java.util.ArrayList;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -32,16 +35,21 @@ import java.util.ArrayList;
 @CrossOrigin(origins = "http://127.0.0.1:3000", allowCredentials = "true")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserLookupService userLookupService;
+
     @GetMapping("/user")
     public ResponseEntity<?> getCurrentUser(@AuthenticationPrincipal OAuth2User oauth2User) {
         try {
-            System.out.println("getCurrentUser called - OAuth2User: " + (oauth2User != null ? "present" : "null"));
+            log.debug("getCurrentUser called - OAuth2User: {}", oauth2User != null ? "present" : "null");
             
             if (oauth2User == null) {
-                System.out.println("OAuth2User is null, returning 401");
+                log.debug("OAuth2User is null, returning 401");
                 return ResponseEntity.status(401).body(Map.of("error", "인증되지 않은 사용자"));
             }
 
@@ -50,10 +58,10 @@ public class AuthController {
 
             // 세션에서 kakaoUserId로 사용자 찾기
             User user = getCurrentAuthenticatedUser(oauth2User);
-            System.out.println("User from DB: " + (user != null ? "found" : "not found"));
+            log.debug("User from DB: {}", user != null ? "found" : "not found");
 
             if (user == null) {
-                System.out.println("User not found in database, returning 404");
+                log.warn("User not found in database, returning 404");
                 return ResponseEntity.status(404).body(Map.of("error", "사용자를 찾을 수 없습니다"));
             }
 
@@ -75,12 +83,11 @@ public class AuthController {
             userInfo.put("isNewUser", isNewUser);
             userInfo.put("onboardingCompleted", user.isOnboardingCompleted());
 
-            System.out.println("Returning user info: " + userInfo);
+            log.debug("Returning user info: {}", userInfo);
             return ResponseEntity.ok(userInfo);
             
         } catch (Exception e) {
-            System.err.println("Error in getCurrentUser: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in getCurrentUser", e);
             return ResponseEntity.status(500).body(Map.of("error", "서버 오류가 발생했습니다: " + e.getMessage()));
         }
     }
@@ -90,17 +97,16 @@ public class AuthController {
     @GetMapping("/check")
     public ResponseEntity<?> checkAuth(@AuthenticationPrincipal OAuth2User oauth2User) {
         try {
-            System.out.println("checkAuth called - OAuth2User: " + (oauth2User != null ? "present" : "null"));
+            log.debug("checkAuth called - OAuth2User: {}", oauth2User != null ? "present" : "null");
             
             if (oauth2User == null) {
-                System.out.println("User is not authenticated");
+                log.debug("User is not authenticated");
                 return ResponseEntity.status(401).body(Map.of("authenticated", false));
             }
-            System.out.println("User is authenticated");
+            log.debug("User is authenticated");
             return ResponseEntity.ok(Map.of("authenticated", true));
         } catch (Exception e) {
-            System.err.println("Error in checkAuth: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in checkAuth", e);
             return ResponseEntity.status(500).body(Map.of("error", "서버 오류가 발생했습니다"));
         }
     }
@@ -110,21 +116,20 @@ public class AuthController {
      */
     private User getCurrentAuthenticatedUser(OAuth2User oauth2User) {
         try {
-            System.out.println("=== getCurrentAuthenticatedUser (session 기반) called ===");
+            log.debug("getCurrentAuthenticatedUser (session 기반) called");
             Object idAttribute = oauth2User.getAttribute("id");
             if (idAttribute != null) {
                 String oauthId = String.valueOf(idAttribute);
-                User user = userRepository.findByOauthId(oauthId);
+                User user = userLookupService.findByOauthId(oauthId);
                 if (user != null) return user;
             }
-            System.out.println("세션에 kakaoUserId 없음");
+            log.debug("세션에 kakaoUserId 없음");
             return null;
         } catch (Exception e) {
-            System.err.println("현재 사용자 조회 실패: " + e.getMessage());
-            e.printStackTrace();
+            log.error("현재 사용자 조회 실패", e);
             return null;
         } finally {
-            System.out.println("=== getCurrentAuthenticatedUser ended ===");
+            log.debug("getCurrentAuthenticatedUser ended");
         }
     }
 
@@ -132,11 +137,10 @@ public class AuthController {
     @GetMapping("/success")
     public ResponseEntity<?> oauth2Success(@AuthenticationPrincipal OAuth2User oauth2User, HttpServletRequest request) {
         try {
-            System.out.println("OAuth2 Success callback called");
-            System.out.println("OAuth2User: " + (oauth2User != null ? "present" : "null"));
+            log.debug("OAuth2 Success callback called - OAuth2User: {}", oauth2User != null ? "present" : "null");
             
             if (oauth2User == null) {
-                System.out.println("OAuth2User is null, redirecting to login with error");
+                log.warn("OAuth2User is null, redirecting to login with error");
                 return ResponseEntity.status(302)
                     .header("Location", "http://127.0.0.1:3000/?error=true")
                     .build();
@@ -154,14 +158,14 @@ public class AuthController {
                 oauthId = String.valueOf(idAttribute);
             }
             
-            System.out.println("OAuth ID in success: " + oauthId);
+            log.debug("OAuth ID in success: {}", oauthId);
             
             // getCurrentAuthenticatedUser 메서드를 사용해서 사용자 찾기
             User user = getCurrentAuthenticatedUser(oauth2User);
-            System.out.println("User from DB in success: " + (user != null ? "found" : "not found"));
+            log.debug("User from DB in success: {}", user != null ? "found" : "not found");
             
             if (user == null) {
-                System.out.println("User not found in database, redirecting to login with error");
+                log.warn("User not found in database, redirecting to login with error");
                 return ResponseEntity.status(302)
                     .header("Location", "http://127.0.0.1:3000/?error=true")
                     .build();
@@ -173,7 +177,7 @@ public class AuthController {
                 accessToken = oauth2User.getAttribute("access_token");
             }
             
-            System.out.println("Authentication successful, redirecting to dashboard");
+            log.info("Authentication successful, redirecting to dashboard");
             // 성공 시 React 앱의 대시보드로 리다이렉트 (토큰을 URL 파라미터로 전달)
             String redirectUrl = "http://127.0.0.1:3000/dashboard";
             if (accessToken != null) {
@@ -185,8 +189,7 @@ public class AuthController {
                 .build();
                 
         } catch (Exception e) {
-            System.err.println("Error in oauth2Success: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in oauth2Success", e);
             return ResponseEntity.status(302)
                 .header("Location", "http://127.0.0.1:3000/?error=true")
                 .build();
@@ -196,7 +199,7 @@ public class AuthController {
     // OAuth2 실패 콜백 처리
     @GetMapping("/failure")
     public ResponseEntity<?> oauth2Failure() {
-        System.out.println("OAuth2 Failure callback called");
+        log.warn("OAuth2 Failure callback called");
         // 실패 시 React 앱의 로그인 페이지로 리다이렉트
         return ResponseEntity.status(302)
             .header("Location", "http://127.0.0.1:3000/?error=true")
@@ -210,8 +213,7 @@ public class AuthController {
                                                @RequestBody Map<String, Object> onboardingData,
                                                HttpServletRequest request) {
         try {
-            System.out.println("=== 온보딩 완료 처리 시작 ===");
-            System.out.println("받은 온보딩 데이터: " + onboardingData);
+            log.debug("온보딩 완료 처리 시작: {}", onboardingData);
             if (oauth2User == null) {
                 return ResponseEntity.status(401).body(Map.of("error", "인증되지 않은 사용자"));
             }
@@ -233,34 +235,34 @@ public class AuthController {
                 return ResponseEntity.status(404).body(Map.of("error", "사용자를 찾을 수 없습니다"));
             }
             
-            System.out.println("사용자 찾음: " + user.getName() + " (ID: " + user.getId() + ")");
+            log.debug("사용자 찾음: {} (ID: {})", user.getName(), user.getId());
 
             // 온보딩 완료 표시
             user.setOnboardingCompleted(true);
             
             // 온보딩 데이터 업데이트
             String nickname = (String) onboardingData.get("nickname");
-            System.out.println("닉네임: " + nickname);
+            log.debug("닉네임: {}", nickname);
             if (nickname != null && !nickname.trim().isEmpty()) {
                 user.setName(nickname);
-                System.out.println("닉네임 설정됨: " + nickname);
+                log.debug("닉네임 설정됨: {}", nickname);
             }
             
             // 음악 지역 선호도 저장 (배열로 받아서 처리)
             @SuppressWarnings("unchecked")
             List<String> musicRegions = (List<String>) onboardingData.get("musicRegion");
-            System.out.println("음악 지역: " + musicRegions);
+            log.debug("음악 지역: {}", musicRegions);
             if (musicRegions != null && !musicRegions.isEmpty()) {
                 // 여러 지역이 선택된 경우 BOTH로 설정, 하나만 선택된 경우 해당 지역으로 설정
                 if (musicRegions.size() > 1) {
                     user.setMusicRegion(MusicRegion.BOTH);
-                    System.out.println("음악 지역 설정됨: BOTH");
+                    log.debug("음악 지역 설정됨: BOTH");
                 } else {
                     String region = musicRegions.get(0);
                     MusicRegion musicRegion = MusicRegion.fromValue(region);
                     if (musicRegion != null) {
                         user.setMusicRegion(musicRegion);
-                        System.out.println("음악 지역 설정됨: " + musicRegion);
+                        log.debug("음악 지역 설정됨: {}", musicRegion);
                     }
                 }
             }
@@ -268,7 +270,7 @@ public class AuthController {
             // 음악 장르 선호도 저장 (여러 장르를 JSON으로 저장)
             @SuppressWarnings("unchecked")
             List<String> musicPreferences = (List<String>) onboardingData.get("musicPreferences");
-            System.out.println("음악 장르: " + musicPreferences);
+            log.debug("음악 장르: {}", musicPreferences);
             if (musicPreferences != null && !musicPreferences.isEmpty()) {
                 try {
                     // 프론트엔드 용어를 데이터베이스 용어로 변환
@@ -283,27 +285,29 @@ public class AuthController {
                     ObjectMapper objectMapper = new ObjectMapper();
                     String musicGenresJson = objectMapper.writeValueAsString(convertedGenres);
                     user.setMusicGenres(musicGenresJson);
-                    System.out.println("음악 장르 설정됨: " + musicGenresJson);
+                    log.debug("음악 장르 설정됨: {}", musicGenresJson);
                 } catch (JsonProcessingException e) {
-                    System.err.println("Error serializing music genres: " + e.getMessage());
+                    log.warn("Error serializing music genres: {}", e.getMessage());
                 }
             }
             
-            System.out.println("저장 전 사용자 정보 - 이름: " + user.getName() + ", 지역: " + user.getMusicRegion() + ", 장르: " + user.getMusicGenres() + ", 온보딩완료: " + user.isOnboardingCompleted());
+            log.debug("저장 전 사용자 정보 - 이름: {}, 지역: {}, 장르: {}, 온보딩완료: {}",
+                    user.getName(), user.getMusicRegion(), user.getMusicGenres(), user.isOnboardingCompleted());
             
             User savedUser = userRepository.save(user);
-            System.out.println("save() 메서드 반환값 - 이름: " + savedUser.getName() + ", 지역: " + savedUser.getMusicRegion() + ", 장르: " + savedUser.getMusicGenres() + ", 온보딩완료: " + savedUser.isOnboardingCompleted());
+            log.debug("save() 메서드 반환값 - 이름: {}, 지역: {}, 장르: {}, 온보딩완료: {}",
+                    savedUser.getName(), savedUser.getMusicRegion(), savedUser.getMusicGenres(), savedUser.isOnboardingCompleted());
             
             userRepository.flush(); // 명시적으로 flush 호출
-            System.out.println("flush() 완료");
+            userLookupService.invalidate(savedUser);
             
-            System.out.println("사용자 정보 저장 완료");
-            System.out.println("저장 후 사용자 정보 - 이름: " + user.getName() + ", 지역: " + user.getMusicRegion() + ", 장르: " + user.getMusicGenres() + ", 온보딩완료: " + user.isOnboardingCompleted());
+            log.info("사용자 정보 저장 완료: user_id={}", savedUser.getId());
             
             // 저장 후 다시 조회해서 확인
             User retrievedUser = userRepository.findByOauthId(oauthId);
             if (retrievedUser != null) {
-                System.out.println("재조회된 사용자 정보 - 이름: " + retrievedUser.getName() + ", 지역: " + retrievedUser.getMusicRegion() + ", 장르: " + retrievedUser.getMusicGenres() + ", 온보딩완료: " + retrievedUser.isOnboardingCompleted());
+                log.debug("재조회된 사용자 정보 - 이름: {}, 지역: {}, 장르: {}, 온보딩완료: {}",
+                        retrievedUser.getName(), retrievedUser.getMusicRegion(), retrievedUser.getMusicGenres(), retrievedUser.isOnboardingCompleted());
             }
             
             // 업데이트된 사용자 정보를 응답에 포함 (재조회된 정보 사용)
@@ -325,9 +329,7 @@ public class AuthController {
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            System.err.println("Error in completeOnboarding: " + e.getMessage());
-            System.err.println("Exception type: " + e.getClass().getSimpleName());
-            e.printStackTrace();
+            log.error("Error in completeOnboarding", e);
             return ResponseEntity.status(500).body(Map.of("error", "서버 오류가 발생했습니다: " + e.getMessage()));
         }
     }
@@ -372,8 +374,7 @@ public class AuthController {
             return ResponseEntity.ok(userInfo);
             
         } catch (Exception e) {
-            System.err.println("Error in debugUser: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in debugUser", e);
             return ResponseEntity.status(500).body(Map.of("error", "서버 오류가 발생했습니다"));
         }
     }
@@ -395,7 +396,7 @@ public class AuthController {
         Object kakaoUserId = body.get("kakaoUserId");
         if (kakaoUserId != null) {
             session.setAttribute("kakaoUserId", Long.valueOf(kakaoUserId.toString()));
-            System.out.println("set-kakao-session: 세션에 kakaoUserId 저장: " + kakaoUserId);
+            log.debug("set-kakao-session: 세션에 kakaoUserId 저장: {}", kakaoUserId);
             return ResponseEntity.ok().build();
         }
         return ResponseEntity.badRequest().body("kakaoUserId is required");
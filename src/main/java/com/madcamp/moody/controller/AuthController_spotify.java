@@ -1,8 +1,9 @@
 package com.madcamp.moody.controller;
 
+import com.madcamp.moody.user.CurrentUser;
 import com.madcamp.moody.user.User;
-import com.madcamp.moody.user.UserRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
@@ -13,27 +14,23 @@ import java.util.Map;
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "http://127.0.0.1:3000", allowCredentials = "true")
 public class AuthController_spotify {
-    @Autowired
-    private UserRepository userRepository;
+
+    private static final Logger log = LoggerFactory.getLogger(AuthController_spotify.class);
 
     @GetMapping("/spotify-status")
-    public ResponseEntity<?> checkSpotifyAuth(@AuthenticationPrincipal OAuth2User oauth2User) {
+    public ResponseEntity<?> checkSpotifyAuth(@AuthenticationPrincipal OAuth2User oauth2User, @CurrentUser User user) {
         try {
-            System.out.println("=== checkSpotifyAuth called ===");
-            System.out.println("OAuth2User: " + (oauth2User != null ? "present" : "null"));
+            log.debug("checkSpotifyAuth called: OAuth2User {}", oauth2User != null ? "present" : "null");
             if (oauth2User == null) {
                 return ResponseEntity.ok(Map.of("spotifyLoggedIn", false));
             }
-            String spotifyId = oauth2User.getAttribute("id");
-            User user = userRepository.findByOauthId(spotifyId);
             if (user != null) {
                 return ResponseEntity.ok(Map.of("spotifyLoggedIn", true));
             } else {
                 return ResponseEntity.ok(Map.of("spotifyLoggedIn", false));
             }
         } catch (Exception e) {
-            System.err.println("Error in checkSpotifyAuth: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in checkSpotifyAuth", e);
             return ResponseEntity.status(500).body(Map.of("error", "서버 오류가 발생했습니다"));
         }
     }
@@ -0,0 +1,25 @@
+package com.madcamp.moody.controller;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * keyset(커서) 페이지 응답
+ * - items: ID 오름차순
+ * - nextCursor: 다음 페이지 요청의 after 값 (마지막 페이지면 null)
+ */
+public record CursorPage<T>(List<T> items, Long nextCursor) {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    // 요청한 개수만큼 채워졌으면 마지막 항목의 ID 가 다음 커서 (남은 항목이 딱 size 개였다면 다음 페이지는 빈 목록)
+    public static <T> CursorPage<T> of(List<T> items, int size, Function<T, Long> idOf) {
+        Long nextCursor = items.size() < size ? null : idOf.apply(items.get(items.size() - 1));
+        return new CursorPage<>(items, nextCursor);
+    }
+}
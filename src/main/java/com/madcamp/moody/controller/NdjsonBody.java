@@ -0,0 +1,55 @@
+package com.madcamp.moody.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * NDJSON(한 줄에 JSON 객체 하나) 응답 본문
+ * source 가 항목을 하나씩 넘기면 바로 직렬화해서 쓰므로 전체 목록을 메모리에 만들지 않음
+ * 시간 제한은 task 로 요청마다 지정 (spring.mvc.async.request-timeout 은 SSE/작업 조회 등 모든 비동기 요청에 적용됨)
+ */
+public final class NdjsonBody {
+
+    private NdjsonBody() {
+    }
+
+    public static <T> StreamingResponseBody of(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        // 기본 ObjectMapper.writeValue(OutputStream) 는 스트림을 닫으므로 바이트로 만들어 직접 씀
+        ObjectWriter writer = objectMapper.writer();
+        return out -> {
+            try {
+                source.accept(item -> {
+                    try {
+                        out.write(writer.writeValueAsBytes(item));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // 클라이언트 연결 끊김 등: 읽기를 멈추고 원래 예외로 전달
+                throw e.getCause();
+            }
+        };
+    }
+
+    // 이 요청에만 timeoutMillis 를 적용해 응답에 바로 씀 (시간을 넘기면 응답을 끝내고, 이후 쓰기가 실패해 읽기도 멈춤)
+    public static <T> WebAsyncTask<Void> task(long timeoutMillis, HttpServletResponse response,
+                                              ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        StreamingResponseBody body = of(objectMapper, source);
+        return new WebAsyncTask<>(timeoutMillis, () -> {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+}
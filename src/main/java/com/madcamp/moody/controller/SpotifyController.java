@@ -1,5 +1,7 @@
 package com.madcamp.moody.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,6 +21,8 @@ import java.util.Map;
 @CrossOrigin(origins = "http://127.0.0.1:3000", allowCredentials = "true")
 public class SpotifyController {
 
+    private static final Logger log = LoggerFactory.getLogger(SpotifyController.class);
+
     @Autowired
     private SpotifyService spotifyService;
 
@@ -141,7 +145,7 @@ public class SpotifyController {
         }
         if (spotifyUserId != null) {
             session.setAttribute("spotifyUserId", spotifyUserId);
-            System.out.println("callback에서 spotifyUserId 세션 저장: " + spotifyUserId);
+            log.debug("callback에서 spotifyUserId 세션 저장: {}", spotifyUserId);
         }
         // Spring Security 기본 콜백 URL로 리다이렉트
         String code = request.getParameter("code");
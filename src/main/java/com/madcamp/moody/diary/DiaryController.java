@@ -1,14 +1,13 @@
 package com.madcamp.moody.diary;
 
+import com.madcamp.moody.user.CurrentUser;
 import com.madcamp.moody.user.User;
-import com.madcamp.moody.user.UserRepository;
 import com.madcamp.moody.mood.Mood;
+import com.madcamp.moody.mood.MoodMonthSummaryCache;
 import com.madcamp.moody.mood.MoodRepository;
 import com.madcamp.moody.playlist.PlaylistRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -21,23 +20,20 @@ public class DiaryController {
     @Autowired
     private DiaryRepository diaryRepository;
 
-    @Autowired
-    private UserRepository userRepository;
-
     @Autowired
     private MoodRepository moodRepository;
 
     @Autowired
     private PlaylistRepository playlistRepository;
 
+    @Autowired
+    private MoodMonthSummaryCache monthSummaryCache;
+
     @PostMapping
     public ResponseEntity<?> saveDiary(
             @RequestBody DiaryRequestDTO request,
-            @AuthenticationPrincipal OAuth2User oauth2User
+            @CurrentUser User user
     ) {
-        String oauthId = oauth2User.getAttribute("id").toString();
-        User user = userRepository.findByOauthId(oauthId);
-
         // 해당 날짜의 Mood 찾기
         Mood mood = moodRepository.findByUserAndDate(user, LocalDate.parse(request.getDate()));
 
@@ -47,6 +43,7 @@ public class DiaryController {
         diary.setContent(request.getContent());
 
         diaryRepository.save(diary);
+        monthSummaryCache.invalidate(user.getId(), LocalDate.parse(request.getDate()));
 
         return ResponseEntity.ok().body("일기 저장 완료!");
     }
@@ -65,6 +62,7 @@ public class DiaryController {
         if (mood != null) {
             moodRepository.delete(mood);
         }
+        monthSummaryCache.invalidateUser(diary.getUser() != null ? diary.getUser().getId() : null);
         return ResponseEntity.ok("Deleted");
     }
 }
@@ -0,0 +1,172 @@
+package com.madcamp.moody.groq;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.madcamp.moody.config.CacheMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * analyzeTextForSpotifySearch 결과 캐시
+ * - 키: 정규화된 분석 텍스트 + 선호 장르의 SHA-256 (일기 원문은 메모리/파일 어디에도 남기지 않음)
+ * - 항목 수 제한 (LRU 방식으로 오래 안 쓴 항목부터 제거) + TTL
+ * - groq.analysis-cache.file 을 지정하면 종료 시 파일로 저장하고 시작 시 다시 읽어옴
+ */
+@Component
+public class GroqAnalysisCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(GroqAnalysisCache.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final String filePath;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    public GroqAnalysisCache(@Value("${groq.analysis-cache.max-entries:1000}") int maxEntries,
+                             @Value("${groq.analysis-cache.ttl-seconds:21600}") long ttlSeconds,
+                             @Value("${groq.analysis-cache.file:}") String filePath) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.filePath = filePath;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > GroqAnalysisCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public GroqDTO.SpotifyAnalysisResult get(String text, String preferredGenre) {
+        String key = key(text, preferredGenre);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+                hits.increment();
+                // 호출하는 쪽에서 리스트를 수정할 수 있으므로 복사본을 반환
+                return new GroqDTO.SpotifyAnalysisResult(new ArrayList<>(entry.genres()), new ArrayList<>(entry.keywords()));
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(String text, String preferredGenre, GroqDTO.SpotifyAnalysisResult result) {
+        if (result == null || result.getGenres() == null || result.getKeywords() == null) {
+            return;
+        }
+        Entry entry = new Entry(List.copyOf(result.getGenres()), List.copyOf(result.getKeywords()),
+                System.currentTimeMillis() + ttlMillis);
+        synchronized (entries) {
+            entries.put(key(text, preferredGenre), entry);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CacheMetrics.bind(registry, "groq-analysis", this, GroqAnalysisCache::size, hits, misses, evictions);
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // 공백/대소문자 차이는 같은 입력으로 취급
+    static String key(String text, String preferredGenre) {
+        String normalized = text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        String genre = preferredGenre == null ? "" : preferredGenre.toLowerCase(Locale.ROOT);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest((normalized + "|" + genre).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 JVM 이 SHA-256 을 지원해야 하므로 발생하지 않음
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isHashKey(String key) {
+        return key != null && key.length() == 64 && key.chars().allMatch(c -> Character.digit(c, 16) >= 0);
+    }
+
+    @PostConstruct
+    public void loadFromDisk() {
+        if (filePath == null || filePath.isEmpty()) {
+            return;
+        }
+        File file = new File(filePath);
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            Map<String, Entry> stored = objectMapper.readValue(file, new TypeReference<LinkedHashMap<String, Entry>>() {});
+            long now = System.currentTimeMillis();
+            synchronized (entries) {
+                stored.forEach((key, entry) -> {
+                    // 이전 버전이 원문을 키로 저장한 항목은 버림 (다음 저장 때 파일에서도 사라짐)
+                    if (isHashKey(key) && entry.expiresAt() > now) {
+                        entries.put(key, entry);
+                    }
+                });
+            }
+            log.info("Groq 분석 캐시 {}건을 파일에서 불러왔습니다.", entries.size());
+        } catch (Exception e) {
+            log.warn("Groq 분석 캐시 파일 읽기 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void saveToDisk() {
+        if (filePath == null || filePath.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, Entry> snapshot;
+            synchronized (entries) {
+                snapshot = new LinkedHashMap<>(entries);
+            }
+            File file = new File(filePath);
+            File tempFile = new File(filePath + ".tmp");
+            objectMapper.writeValue(tempFile, snapshot);
+            if (!tempFile.renameTo(file)) {
+                log.warn("Groq 분석 캐시 파일 교체 실패: {}", filePath);
+            }
+        } catch (Exception e) {
+            log.warn("Groq 분석 캐시 파일 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    record Entry(List<String> genres, List<String> keywords, long expiresAt) {
+    }
+}
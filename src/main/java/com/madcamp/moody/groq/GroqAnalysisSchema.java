@@ -0,0 +1,109 @@
+package com.madcamp.moody.groq;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 텍스트 분석 결과(장르 3개 + 키워드 5개)의 출력 형식
+ * - Groq 요청에 넣을 tool 스키마 / JSON 모드 설정
+ * - 모델이 개수를 틀리게 반환해도 다시 호출하지 않도록 로컬에서 개수를 맞춤
+ */
+final class GroqAnalysisSchema {
+
+    static final int GENRE_COUNT = 3;
+    static final int KEYWORD_COUNT = 5;
+    static final String TOOL_NAME = "submit_music_analysis";
+
+    // 응답 max_tokens: 항목 하나당 최대 8토큰(따옴표, 쉼표 포함) + JSON 구조/tool 호출 오버헤드 32토큰, 잘리지 않도록 2배 여유
+    static final int MAX_RESPONSE_TOKENS = 2 * ((GENRE_COUNT + KEYWORD_COUNT) * 8 + 32);
+
+    // 개수가 모자랄 때 채우는 값 (기존 재시도 로직의 보충 장르와 파서 기본 키워드)
+    private static final List<String> FILLER_GENRES = List.of("pop", "acoustic", "electronic", "rock", "hip-hop");
+    private static final List<String> FILLER_KEYWORDS = List.of("healing", "calming", "uplifting", "soothing", "peaceful");
+
+    static final GroqDTO.GroqRequest.ResponseFormat JSON_OBJECT = new GroqDTO.GroqRequest.ResponseFormat("json_object");
+
+    private static final Map<String, Object> PARAMETERS = Map.of(
+            "type", "object",
+            "properties", Map.of(
+                    "genres", stringArray(GENRE_COUNT, "Music genres in English that can be searched on Spotify"),
+                    "keywords", stringArray(KEYWORD_COUNT, "English words describing the mood and energy of the music")),
+            "required", List.of("genres", "keywords"),
+            "additionalProperties", false);
+
+    private GroqAnalysisSchema() {
+    }
+
+    static GroqDTO.GroqRequest.Tool tool() {
+        return new GroqDTO.GroqRequest.Tool("function", new GroqDTO.GroqRequest.Tool.Function(
+                TOOL_NAME, "Submit the genres and keywords recommended for the text", PARAMETERS));
+    }
+
+    static GroqDTO.GroqRequest.ToolChoice toolChoice() {
+        return new GroqDTO.GroqRequest.ToolChoice("function",
+                new GroqDTO.GroqRequest.ToolChoice.FunctionName(TOOL_NAME));
+    }
+
+    /**
+     * 공백/중복 제거 후 선호 장르를 맨 앞에 두고 장르 3개, 키워드 5개로 맞춤
+     * 보정으로 값이 바뀌었으면 true
+     */
+    static boolean repair(GroqDTO.SpotifyAnalysisResult result, String preferredGenre) {
+        List<String> genres = distinct(result.getGenres());
+        if (preferredGenre != null && !preferredGenre.isBlank()) {
+            // 모델이 뒤쪽에 넣었더라도 개수를 자를 때 빠지지 않도록 맨 앞으로 옮김
+            genres.removeIf(genre -> genre.equalsIgnoreCase(preferredGenre.trim()));
+            genres.add(0, preferredGenre.trim());
+        }
+        fit(genres, FILLER_GENRES, GENRE_COUNT);
+
+        List<String> keywords = distinct(result.getKeywords());
+        fit(keywords, FILLER_KEYWORDS, KEYWORD_COUNT);
+
+        boolean changed = !genres.equals(result.getGenres()) || !keywords.equals(result.getKeywords());
+        result.setGenres(genres);
+        result.setKeywords(keywords);
+        return changed;
+    }
+
+    private static Map<String, Object> stringArray(int count, String description) {
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", "array");
+        schema.put("description", description);
+        schema.put("items", Map.of("type", "string"));
+        schema.put("minItems", count);
+        schema.put("maxItems", count);
+        return schema;
+    }
+
+    // 대소문자만 다른 값은 같은 값으로 취급 (처음 나온 표기를 유지)
+    private static List<String> distinct(List<String> values) {
+        Map<String, String> unique = new LinkedHashMap<>();
+        if (values != null) {
+            for (String value : values) {
+                if (value != null && !value.isBlank()) {
+                    String trimmed = value.trim();
+                    unique.putIfAbsent(trimmed.toLowerCase(Locale.ROOT), trimmed);
+                }
+            }
+        }
+        return new ArrayList<>(unique.values());
+    }
+
+    private static void fit(List<String> values, List<String> fillers, int count) {
+        for (String filler : fillers) {
+            if (values.size() >= count) {
+                break;
+            }
+            if (values.stream().noneMatch(value -> value.equalsIgnoreCase(filler))) {
+                values.add(filler);
+            }
+        }
+        if (values.size() > count) {
+            values.subList(count, values.size()).clear();
+        }
+    }
+}
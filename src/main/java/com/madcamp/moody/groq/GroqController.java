@@ -1,20 +1,41 @@
 package com.madcamp.moody.groq;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/groq")
 @CrossOrigin(origins = "*")
 public class GroqController {
+
+    private static final Logger log = LoggerFactory.getLogger(GroqController.class);
+
+    private static final String RECOMMEND_FAILED_MESSAGE = "음악 추천 중 오류가 발생했습니다. 잠시 후 다시 시도해주세요.";
     
     private final GroqService groqService;
+    private final RecommendationJobService recommendationJobService;
+
+    @Value("${groq.stream.timeout-ms:60000}")
+    private long streamTimeoutMs;
     
     @Autowired
-    public GroqController(GroqService groqService) {
+    public GroqController(GroqService groqService, RecommendationJobService recommendationJobService) {
         this.groqService = groqService;
+        this.recommendationJobService = recommendationJobService;
     }
     
 
@@ -27,7 +48,108 @@ public class GroqController {
     ) {
         // 이제 user 객체를 통해 현재 로그인한 사용자 정보를 알 수 있습니다.
         // 예를 들어, 사용자 이름을 로그로 출력해볼 수 있습니다.
-        System.out.println("음악 추천 요청 사용자: " + user.getName());
+        log.info("음악 추천 요청 사용자: {}", user.getName());
         return groqService.analyzeTextAndRecommendMusic(request.getPrompt(), request.getDate(), user);
     }
-} 
\ No newline at end of file
+
+    // 텍스트 분석 + 음악 추천 (SSE 스트리밍)
+    // analysis -> track(곡마다) -> playlist -> done 순서로 이벤트 전송, 실패 시 error 이벤트
+    @PostMapping(value = "/recommend-music/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRecommendMusic(
+            @RequestBody GroqDTO.SimpleRequest request,
+            @AuthenticationPrincipal OAuth2User user
+    ) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        RecommendationProgressListener listener = new RecommendationProgressListener() {
+            @Override
+            public void onAnalysisCompleted(GroqDTO.SpotifyAnalysisResult analysis) {
+                sendEvent(emitter, "analysis", analysis);
+            }
+
+            @Override
+            public void onTrackSelected(GroqDTO.MusicAnalysisResponse.RecommendedTrack track) {
+                sendEvent(emitter, "track", track);
+            }
+
+            @Override
+            public void onPlaylistSaved(String playlistTitle) {
+                sendEvent(emitter, "playlist", Map.of("playlistTitle", playlistTitle));
+            }
+        };
+
+        try {
+            recommendationJobService.execute(() -> {
+                try {
+                    GroqDTO.MusicAnalysisResponse response =
+                            groqService.analyzeTextAndRecommendMusic(request.getPrompt(), request.getDate(), user, listener);
+                    sendEvent(emitter, "done", response);
+                } catch (Exception e) {
+                    // 예외 내용(외부 API 응답, SQL 등)은 로그에만 남기고 클라이언트에는 고정 메시지 전송
+                    log.warn("음악 추천 스트리밍 오류: {}", e.getMessage(), e);
+                    sendEvent(emitter, "error", Map.of("error", RECOMMEND_FAILED_MESSAGE));
+                }
+                emitter.complete();
+            });
+        } catch (RejectedExecutionException e) {
+            sendEvent(emitter, "error", Map.of("error", "추천 요청이 많아 잠시 후 다시 시도해주세요."));
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    // 음악 추천 작업 등록 (바로 jobId 반환, 결과는 폴링으로 조회)
+    @PostMapping("/recommend-music/jobs")
+    public ResponseEntity<Map<String, Object>> submitRecommendJob(
+            @RequestBody GroqDTO.SimpleRequest request,
+            @AuthenticationPrincipal OAuth2User user
+    ) {
+        try {
+            RecommendationJob job = recommendationJobService.submit(request.getPrompt(), request.getDate(), user);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toJobResponse(job));
+        } catch (RejectedExecutionException e) {
+            // 동시에 처리 중인 추천이 너무 많음 -> 잠시 후 재시도
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "추천 요청이 많아 잠시 후 다시 시도해주세요.");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", "5")
+                    .body(response);
+        }
+    }
+
+    // 음악 추천 작업 상태 조회
+    @GetMapping("/recommend-music/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getRecommendJob(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal OAuth2User user
+    ) {
+        RecommendationJob job = recommendationJobService.getJob(jobId, user);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(toJobResponse(job));
+    }
+
+    // 클라이언트 연결이 끊긴 경우에도 추천 파이프라인은 계속 진행 (플레이리스트 저장까지)
+    private void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE 이벤트 전송 실패({}): {}", name, e.getMessage());
+        }
+    }
+
+    private Map<String, Object> toJobResponse(RecommendationJob job) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("jobId", job.getJobId());
+        response.put("stage", job.getStage());
+        response.put("createdAt", job.getCreatedAt());
+        response.put("updatedAt", job.getUpdatedAt());
+        if (job.getResult() != null) {
+            response.put("result", job.getResult());
+        }
+        if (job.getError() != null) {
+            response.put("error", job.getError());
+        }
+        return response;
+    }
+}
@@ -3,22 +3,37 @@ package com.madcamp.moody.groq;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonCreator;
 
 import java.util.List;
+import java.util.Map;
 
 public class GroqDTO {
     
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class GroqRequest {
         private String model;
         private List<Message> messages;
         @JsonProperty("max_tokens")
         private Integer maxTokens;
         private Double temperature;
+        // JSON 모드 ({"type": "json_object"})
+        @JsonProperty("response_format")
+        private ResponseFormat responseFormat;
+        // tool(function) 호출 스키마
+        private List<Tool> tools;
+        @JsonProperty("tool_choice")
+        private ToolChoice toolChoice;
+
+        // 일반 텍스트 응답 요청
+        public GroqRequest(String model, List<Message> messages, Integer maxTokens, Double temperature) {
+            this(model, messages, maxTokens, temperature, null, null, null);
+        }
         
         @Data
         @NoArgsConstructor
@@ -27,6 +42,47 @@ public class GroqDTO {
             private String role;
             private String content;
         }
+
+        @Data
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static class ResponseFormat {
+            private String type;
+        }
+
+        @Data
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static class Tool {
+            private String type;
+            private Function function;
+
+            @Data
+            @NoArgsConstructor
+            @AllArgsConstructor
+            public static class Function {
+                private String name;
+                private String description;
+                // JSON Schema
+                private Map<String, Object> parameters;
+            }
+        }
+
+        // 특정 tool 호출을 강제할 때 사용 ({"type": "function", "function": {"name": ...}})
+        @Data
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static class ToolChoice {
+            private String type;
+            private FunctionName function;
+
+            @Data
+            @NoArgsConstructor
+            @AllArgsConstructor
+            public static class FunctionName {
+                private String name;
+            }
+        }
     }
     
     @Data
@@ -55,6 +111,27 @@ public class GroqDTO {
             public static class Message {
                 private String role;
                 private String content;
+                // tool 호출로 응답한 경우 content 대신 채워짐
+                @JsonProperty("tool_calls")
+                private List<ToolCall> toolCalls;
+            }
+
+            @Data
+            @NoArgsConstructor
+            @AllArgsConstructor
+            public static class ToolCall {
+                private String id;
+                private String type;
+                private Function function;
+
+                @Data
+                @NoArgsConstructor
+                @AllArgsConstructor
+                public static class Function {
+                    private String name;
+                    // 인자(JSON 문자열)
+                    private String arguments;
+                }
             }
         }
         
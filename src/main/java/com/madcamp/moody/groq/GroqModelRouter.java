@@ -0,0 +1,372 @@
+package com.madcamp.moody.groq;
+
+import com.madcamp.moody.config.CancellableRequests;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Groq 호출을 모델별로 분배
+ * - 호출 하나마다 마감 시간(deadline)을 두고, 그 안에 유효한 응답이 없으면 null
+ * - 첫 요청이 해당 모델의 p95 응답 시간 안에 끝나지 않으면 hedge 요청(같은 모델 또는 더 가벼운 모델)을 하나 더 보냄
+ * - 요청이 실패하거나 유효하지 않은 응답이면 다음 모델로 바로 넘어감
+ * - 호출 하나에서 보내는 HTTP 요청 수는 max-calls 로 제한 (hedge, fallback, ModelCall 안의 재요청 포함)
+ * - 가장 먼저 도착한 유효한 응답을 사용하고 나머지 요청은 커넥션을 닫아 취소
+ * 재시도는 여기서만 하고, 호출하는 쪽에서는 다시 감싸 재시도하지 않음
+ */
+@Component
+public class GroqModelRouter implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(GroqModelRouter.class);
+
+    // p95 계산에 사용할 최근 성공 응답 시간 개수
+    private static final int LATENCY_WINDOW = 256;
+
+    // ModelCall 을 실행 중인 스레드의 호출 예산 (tryAcquireCall)
+    private static final ThreadLocal<Budget> CURRENT_BUDGET = new ThreadLocal<>();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<String> models;
+    private final String hedgeModel;
+    private final long deadlineMillis;
+    private final long initialHedgeDelayMillis;
+    private final int minSamplesForHedge;
+    private final int maxCalls;
+    private final Map<String, ModelStats> modelStats = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    private final LongAdder routed = new LongAdder();
+    private final LongAdder hedgesSent = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder deadlineExceeded = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    public GroqModelRouter(@Value("${groq.router.models:llama3-8b-8192,llama-3.1-8b-instant}") String models,
+                           @Value("${groq.router.hedge-model:}") String hedgeModel,
+                           @Value("${groq.router.deadline-ms:8000}") long deadlineMillis,
+                           @Value("${groq.router.initial-hedge-delay-ms:3000}") long initialHedgeDelayMillis,
+                           @Value("${groq.router.min-samples-for-hedge:20}") int minSamplesForHedge,
+                           @Value("${groq.router.max-calls:3}") int maxCalls) {
+        this.models = Arrays.stream(models.split(","))
+                .map(String::trim)
+                .filter(model -> !model.isEmpty())
+                .distinct()
+                .toList();
+        if (this.models.isEmpty()) {
+            throw new IllegalArgumentException("groq.router.models 에 모델이 하나 이상 있어야 합니다.");
+        }
+        this.hedgeModel = hedgeModel == null || hedgeModel.isBlank() ? null : hedgeModel.trim();
+        this.deadlineMillis = deadlineMillis;
+        this.initialHedgeDelayMillis = initialHedgeDelayMillis;
+        this.minSamplesForHedge = minSamplesForHedge;
+        this.maxCalls = Math.max(1, maxCalls);
+    }
+
+    @FunctionalInterface
+    public interface ModelCall<T> {
+        // null 을 반환하면 유효하지 않은 응답으로 보고 다음 모델로 넘어감
+        T call(String model) throws Exception;
+    }
+
+    public String getPrimaryModel() {
+        return models.get(0);
+    }
+
+    /**
+     * preferredModel 부터 시작해 설정된 모델 순서대로 시도하고, 마감 시간 안에 처음 도착한 유효한 응답을 반환
+     * 모두 실패하거나 마감 시간/호출 예산을 넘기면 null
+     */
+    public <T> T route(String preferredModel, ModelCall<T> call) {
+        routed.increment();
+        List<String> order = new ArrayList<>(models.size() + 1);
+        order.add(preferredModel);
+        for (String model : models) {
+            if (!model.equals(preferredModel)) {
+                order.add(model);
+            }
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        long hedgeAt = start + TimeUnit.MILLISECONDS.toNanos(hedgeDelayMillis(preferredModel));
+        String hedgeTarget = hedgeModel != null ? hedgeModel : preferredModel;
+
+        Budget budget = new Budget(maxCalls, deadline);
+        LinkedBlockingQueue<Attempt<T>> completed = new LinkedBlockingQueue<>();
+        List<Future<?>> futures = new ArrayList<>();
+        List<CancellableRequests.Scope> scopes = new ArrayList<>();
+        int nextModel = 0;
+        int pending = 0;
+        boolean hedged = false;
+
+        budget.tryAcquire();
+        submit(order.get(nextModel++), false, call, budget, completed, futures, scopes);
+        pending++;
+
+        try {
+            while (pending > 0 || nextModel < order.size()) {
+                if (pending == 0) {
+                    // 진행 중인 요청이 모두 실패: 예산이 남았으면 다음 모델로
+                    if (!budget.tryAcquire()) {
+                        budgetExhausted.increment();
+                        break;
+                    }
+                    fallbacks.increment();
+                    submit(order.get(nextModel++), false, call, budget, completed, futures, scopes);
+                    pending++;
+                }
+
+                long now = System.nanoTime();
+                if (now >= deadline) {
+                    break;
+                }
+                long waitUntil = hedged ? deadline : Math.min(deadline, hedgeAt);
+                Attempt<T> attempt = completed.poll(Math.max(0, waitUntil - now), TimeUnit.NANOSECONDS);
+
+                if (attempt == null) {
+                    if (!hedged && System.nanoTime() >= hedgeAt && System.nanoTime() < deadline) {
+                        // p95 안에 응답이 없음: 예산이 남았으면 hedge 요청 추가
+                        hedged = true;
+                        if (budget.tryAcquire()) {
+                            hedgesSent.increment();
+                            submit(hedgeTarget, true, call, budget, completed, futures, scopes);
+                            pending++;
+                        }
+                    }
+                    continue;
+                }
+
+                pending--;
+                if (attempt.value() != null) {
+                    if (attempt.hedge()) {
+                        hedgeWins.increment();
+                    }
+                    stats(attempt.model()).wins.increment();
+                    return attempt.value();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            // 늦게 끝나는 요청은 커넥션을 닫아 끊음 (인터럽트만으로는 HTTP 읽기가 멈추지 않음)
+            scopes.forEach(CancellableRequests.Scope::cancel);
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        if (pending == 0) {
+            exhausted.increment();
+            log.warn("Groq 모델 {} 호출이 모두 실패했습니다.", order);
+        } else {
+            deadlineExceeded.increment();
+            log.warn("Groq 호출이 {}ms 안에 유효한 응답을 받지 못했습니다.", deadlineMillis);
+        }
+        return null;
+    }
+
+    /**
+     * ModelCall 안에서 HTTP 요청을 한 번 더 보내기 전에 호출 (예: tool 호출 실패 후 JSON 모드 재요청)
+     * 같은 호출의 예산/마감 시간을 함께 사용하며, 남은 예산이 없거나 마감 시간이 지났으면 false
+     * route 밖(ModelCall 이 아닌 곳)에서 부르면 항상 true
+     */
+    public boolean tryAcquireCall() {
+        Budget budget = CURRENT_BUDGET.get();
+        if (budget == null) {
+            return true;
+        }
+        if (budget.tryAcquire()) {
+            return true;
+        }
+        budgetExhausted.increment();
+        return false;
+    }
+
+    // 주 모델의 p95 응답 시간 (표본이 적으면 초기값)
+    long hedgeDelayMillis(String model) {
+        ModelStats stats = modelStats.get(model);
+        if (stats == null) {
+            return initialHedgeDelayMillis;
+        }
+        long p95 = stats.percentile(0.95, minSamplesForHedge);
+        return p95 < 0 ? initialHedgeDelayMillis : p95;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "moody.groq.router.routed", routed, "route 호출 수");
+        counter(registry, "moody.groq.router.hedges.sent", hedgesSent, "p95 안에 응답이 없어 보낸 hedge 요청 수");
+        counter(registry, "moody.groq.router.hedges.won", hedgeWins, "hedge 요청의 응답을 사용한 수");
+        counter(registry, "moody.groq.router.fallbacks", fallbacks, "실패 후 다음 모델로 넘어간 수");
+        counter(registry, "moody.groq.router.deadline_exceeded", deadlineExceeded, "마감 시간 안에 유효한 응답이 없었던 수");
+        counter(registry, "moody.groq.router.exhausted", exhausted, "모든 모델이 실패한 수");
+        counter(registry, "moody.groq.router.budget_exhausted", budgetExhausted, "호출 예산을 다 써서 더 보내지 못한 수");
+        // 모델별 지표는 처음 호출된 모델부터 등록 (이후 모델은 stats() 에서 등록)
+        this.registry = registry;
+        modelStats.forEach((model, stats) -> stats.bindTo(registry, model));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> void submit(String model, boolean hedge, ModelCall<T> call, Budget budget,
+                            LinkedBlockingQueue<Attempt<T>> completed, List<Future<?>> futures,
+                            List<CancellableRequests.Scope> scopes) {
+        ModelStats stats = stats(model);
+        CancellableRequests.Scope scope = new CancellableRequests.Scope();
+        scopes.add(scope);
+        futures.add(executor.submit(() -> {
+            long start = System.nanoTime();
+            T value = null;
+            CURRENT_BUDGET.set(budget);
+            try {
+                value = scope.call(() -> call.call(model));
+                long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                if (value != null) {
+                    stats.recordSuccess(elapsedMillis);
+                } else {
+                    stats.invalid.increment();
+                }
+            } catch (Exception e) {
+                if (scope.isCancelled() || e instanceof InterruptedException || Thread.currentThread().isInterrupted()) {
+                    // 다른 요청이 먼저 끝나 취소된 경우
+                    stats.cancelled.increment();
+                } else {
+                    stats.errors.increment();
+                    log.warn("Groq 모델 {} 호출 실패: {}", model, e.getMessage());
+                }
+            } finally {
+                CURRENT_BUDGET.remove();
+            }
+            completed.offer(new Attempt<>(model, hedge, value));
+        }));
+    }
+
+    private ModelStats stats(String model) {
+        return modelStats.computeIfAbsent(model, m -> {
+            ModelStats stats = new ModelStats();
+            MeterRegistry current = registry;
+            if (current != null) {
+                stats.bindTo(current, m);
+            }
+            return stats;
+        });
+    }
+
+    private static void counter(MeterRegistry registry, String name, LongAdder count, String description) {
+        FunctionCounter.builder(name, count, LongAdder::sum)
+                .description(description)
+                .register(registry);
+    }
+
+    private record Attempt<T>(String model, boolean hedge, T value) {
+    }
+
+    // 호출 하나(route)가 보낼 수 있는 남은 HTTP 요청 수와 마감 시간
+    private static final class Budget {
+        private final AtomicInteger remaining;
+        private final long deadlineNanos;
+
+        Budget(int maxCalls, long deadlineNanos) {
+            this.remaining = new AtomicInteger(maxCalls);
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        boolean tryAcquire() {
+            if (System.nanoTime() >= deadlineNanos) {
+                return false;
+            }
+            return remaining.getAndUpdate(value -> value > 0 ? value - 1 : value) > 0;
+        }
+    }
+
+    private static class ModelStats {
+        final LongAdder successes = new LongAdder();
+        final LongAdder wins = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder invalid = new LongAdder();
+        final LongAdder cancelled = new LongAdder();
+        final LongAdder totalMillis = new LongAdder();
+        // 최근 성공 응답 시간 (원형 버퍼)
+        private final long[] latencies = new long[LATENCY_WINDOW];
+        private int next;
+        private int size;
+
+        void recordSuccess(long elapsedMillis) {
+            successes.increment();
+            totalMillis.add(elapsedMillis);
+            synchronized (latencies) {
+                latencies[next] = elapsedMillis;
+                next = (next + 1) % LATENCY_WINDOW;
+                size = Math.min(size + 1, LATENCY_WINDOW);
+            }
+        }
+
+        // 표본이 minSamples 보다 적으면 -1
+        long percentile(double quantile, int minSamples) {
+            long[] sorted;
+            synchronized (latencies) {
+                if (size == 0 || size < minSamples) {
+                    return -1;
+                }
+                sorted = Arrays.copyOf(latencies, size);
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)];
+        }
+
+        void bindTo(MeterRegistry registry, String model) {
+            request(registry, model, "success", successes);
+            request(registry, model, "invalid", invalid);
+            request(registry, model, "error", errors);
+            request(registry, model, "cancelled", cancelled);
+            FunctionCounter.builder("moody.groq.router.model.wins", wins, LongAdder::sum)
+                    .description("이 모델의 응답을 사용한 수")
+                    .tag("model", model)
+                    .register(registry);
+            FunctionTimer.builder("moody.groq.router.model.latency", this,
+                            stats -> stats.successes.sum(), stats -> stats.totalMillis.sum(), TimeUnit.MILLISECONDS)
+                    .description("성공한 요청의 응답 시간")
+                    .tag("model", model)
+                    .register(registry);
+            TimeGauge.builder("moody.groq.router.model.latency.p95", this, TimeUnit.MILLISECONDS,
+                            stats -> stats.percentile(0.95, 1))
+                    .description("최근 " + LATENCY_WINDOW + "개 성공 응답의 p95 (hedge 기준, 표본이 없으면 -1)")
+                    .tag("model", model)
+                    .register(registry);
+        }
+
+        // 보낸 요청의 결과별 수 (outcome 을 모두 더하면 보낸 요청 수)
+        private static void request(MeterRegistry registry, String model, String outcome, LongAdder count) {
+            FunctionCounter.builder("moody.groq.router.model.requests", count, LongAdder::sum)
+                    .description("모델별 요청 수")
+                    .tag("model", model)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.madcamp.moody.groq;
+
+import java.util.List;
+
+/**
+ * 텍스트 분석 프롬프트
+ * - 고정된 지침은 system 메시지 하나로 한 번만 만들어 두고, 요청마다 바뀌는 부분(선호 장르, 분석할 텍스트)만 user 메시지로 보냄
+ * - system 메시지가 매번 같으므로 Groq 쪽 프롬프트 캐시(같은 prefix 재사용)의 대상이 될 수 있음
+ */
+final class GroqPrompts {
+
+    static final String ANALYSIS_SYSTEM =
+            "당신은 사용자의 글을 영화 장면처럼 여기고 어울리는 사운드트랙을 고르는 음악 감독입니다.\n" +
+            "글의 감정, 분위기, 상황적 맥락(계절, 기념일, 이벤트 등)을 파악해 Spotify 검색에 쓸 장르 3개와 키워드 5개를 고르세요.\n" +
+            "- 크리스마스, 연말, 휴가처럼 상황이 분명하면 그에 맞는 장르(예: christmas, carol, jazz)를 최우선으로 포함\n" +
+            "- 특정 가수가 언급되면 그 가수의 음악이나 장르를 최우선으로 포함\n" +
+            "- 공감, 기분 전환, 새로운 에너지 등 다양한 접근과 뻔하지 않은 창의적인 조합을 선호하되, 항상 글의 핵심 감정과 상황에 기반\n" +
+            "- 장르: Spotify 에서 검색 가능한 영어 장르명 (메인스트림부터 언더그라운드까지)\n" +
+            "- 키워드: 음악의 분위기, 느낌, 에너지를 표현하는 구체적인 영어 단어\n" +
+            "JSON 으로만 응답: {\"genres\":[\"genre1\",\"genre2\",\"genre3\"],\"keywords\":[\"keyword1\",\"keyword2\",\"keyword3\",\"keyword4\",\"keyword5\"]}";
+
+    // fallback 모델(주 모델이 실패했을 때)에 사용하는 짧은 지침
+    static final String FALLBACK_SYSTEM =
+            "당신은 글의 감성과 상황에 맞는 음악을 추천하는 음악 큐레이터입니다. " +
+            "텍스트의 감정과 상황을 고려해 영어 장르 3개와 음악 분위기를 표현하는 영어 키워드 5개를 추천하세요.\n" +
+            "JSON 으로만 응답: {\"genres\":[\"genre1\",\"genre2\",\"genre3\"],\"keywords\":[\"keyword1\",\"keyword2\",\"keyword3\",\"keyword4\",\"keyword5\"]}";
+
+    private GroqPrompts() {
+    }
+
+    static List<GroqDTO.GroqRequest.Message> analysis(String text, String preferredGenre) {
+        return messages(ANALYSIS_SYSTEM, text, preferredGenre);
+    }
+
+    static List<GroqDTO.GroqRequest.Message> fallback(String text, String preferredGenre) {
+        return messages(FALLBACK_SYSTEM, text, preferredGenre);
+    }
+
+    private static List<GroqDTO.GroqRequest.Message> messages(String system, String text, String preferredGenre) {
+        StringBuilder user = new StringBuilder(text.length() + 64);
+        if (preferredGenre != null && !preferredGenre.isEmpty()) {
+            user.append("선호 장르: ").append(preferredGenre).append(" (이 장르를 포함해 총 3개)\n");
+        }
+        user.append("텍스트: \"").append(text).append('"');
+        return List.of(
+                new GroqDTO.GroqRequest.Message("system", system),
+                new GroqDTO.GroqRequest.Message("user", user.toString()));
+    }
+}
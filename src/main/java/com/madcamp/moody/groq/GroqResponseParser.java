@@ -0,0 +1,166 @@
+package com.madcamp.moody.groq;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Groq 응답(LLM 출력)에서 SpotifyAnalysisResult 추출
+ * 1. 본문의 첫 '{' ~ 마지막 '}' 를 관대한 설정의 ObjectReader 로 파싱 (코드 블록, 앞뒤 설명문, 끝 쉼표, 작은따옴표 허용)
+ * 2. 실패하면 스트리밍 JsonParser 로 토큰을 읽으면서 genres/keywords 배열만 회수 (응답이 중간에 잘려도 읽은 부분까지 사용)
+ * 3. 그래도 없으면 미리 컴파일한 정규식으로 추출
+ * ObjectReader/JsonMapper 는 스레드 안전하므로 하나를 공유
+ */
+@Component
+public class GroqResponseParser {
+
+    private static final Logger log = LoggerFactory.getLogger(GroqResponseParser.class);
+
+    private static final JsonMapper MAPPER = JsonMapper.builder()
+            .enable(JsonReadFeature.ALLOW_TRAILING_COMMA)
+            .enable(JsonReadFeature.ALLOW_SINGLE_QUOTES)
+            .enable(JsonReadFeature.ALLOW_UNQUOTED_FIELD_NAMES)
+            .enable(JsonReadFeature.ALLOW_JAVA_COMMENTS)
+            .enable(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+            .build();
+
+    private static final ObjectReader ANALYSIS_READER = MAPPER.readerFor(GroqDTO.SpotifyAnalysisResult.class);
+
+    private static final Pattern GENRES_PATTERN = Pattern.compile("[\"']?genres[\"']?\\s*:\\s*\\[([^\\]]+)\\]", Pattern.CASE_INSENSITIVE);
+    private static final Pattern KEYWORDS_PATTERN = Pattern.compile("[\"']?keywords[\"']?\\s*:\\s*\\[([^\\]]+)\\]", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ELEMENT_SEPARATOR = Pattern.compile(",");
+    private static final Pattern ELEMENT_QUOTES = Pattern.compile("^[\\s\"']+|[\\s\"']+$");
+
+    // 모든 방법이 실패했을 때 사용하는 기본값 (기존 parseSpotifyAnalysis 와 동일)
+    private static final List<String> DEFAULT_GENRES = List.of("pop", "acoustic", "ambient");
+    private static final List<String> DEFAULT_KEYWORDS = List.of("healing", "calming", "uplifting", "soothing", "peaceful");
+
+    /**
+     * 추출에 실패하면 기본값을 반환
+     * 호출하는 쪽에서 장르/키워드를 보충하거나 자르므로 항상 수정 가능한 리스트로 반환
+     */
+    public GroqDTO.SpotifyAnalysisResult parse(String content) {
+        GroqDTO.SpotifyAnalysisResult result = tryParse(content);
+        if (result != null) {
+            return result;
+        }
+        log.warn("모든 파싱 시도 실패, 기본값 반환");
+        return defaults();
+    }
+
+    public GroqDTO.SpotifyAnalysisResult defaults() {
+        return new GroqDTO.SpotifyAnalysisResult(new ArrayList<>(DEFAULT_GENRES), new ArrayList<>(DEFAULT_KEYWORDS));
+    }
+
+    /**
+     * 추출에 실패하면 null (genres 와 keywords 가 모두 하나 이상 있어야 성공)
+     */
+    public GroqDTO.SpotifyAnalysisResult tryParse(String content) {
+        if (content == null || content.isBlank()) {
+            return null;
+        }
+
+        int start = content.indexOf('{');
+        int end = content.lastIndexOf('}');
+
+        // 1차: 객체 부분 전체를 DTO 로 파싱
+        if (start != -1 && end > start) {
+            try {
+                GroqDTO.SpotifyAnalysisResult result = ANALYSIS_READER.readValue(content.substring(start, end + 1));
+                if (isComplete(result.getGenres(), result.getKeywords())) {
+                    return mutableCopy(result.getGenres(), result.getKeywords());
+                }
+            } catch (Exception e) {
+                log.debug("1차 JSON 파싱 실패: {}", e.getMessage());
+            }
+        }
+
+        // 2차: 스트리밍 파서로 읽을 수 있는 데까지 읽기 (닫는 괄호가 없는 잘린 응답 포함)
+        if (start != -1) {
+            GroqDTO.SpotifyAnalysisResult result = recoverWithStreamingParser(content, start);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        // 3차: 정규식 추출
+        List<String> genres = extractArray(GENRES_PATTERN, content);
+        List<String> keywords = extractArray(KEYWORDS_PATTERN, content);
+        if (isComplete(genres, keywords)) {
+            return mutableCopy(genres, keywords);
+        }
+        return null;
+    }
+
+    private GroqDTO.SpotifyAnalysisResult recoverWithStreamingParser(String content, int start) {
+        List<String> genres = null;
+        List<String> keywords = null;
+        List<String> current = null;
+
+        try (JsonParser parser = MAPPER.createParser(content.substring(start))) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    if ("genres".equalsIgnoreCase(name)) {
+                        genres = new ArrayList<>();
+                        current = genres;
+                    } else if ("keywords".equalsIgnoreCase(name)) {
+                        keywords = new ArrayList<>();
+                        current = keywords;
+                    } else {
+                        current = null;
+                    }
+                } else if (current != null && token == JsonToken.VALUE_STRING) {
+                    // "genres": "indie, pop" 처럼 문자열 하나로 온 경우도 처리
+                    addElements(current, parser.getText());
+                } else if (current != null && token == JsonToken.END_ARRAY) {
+                    current = null;
+                }
+            }
+        } catch (Exception e) {
+            // 잘린 응답이나 문법 오류: 그 전까지 읽은 값은 사용
+            log.debug("스트리밍 파싱 중단: {}", e.getMessage());
+        }
+
+        return isComplete(genres, keywords) ? mutableCopy(genres, keywords) : null;
+    }
+
+    private static List<String> extractArray(Pattern pattern, String content) {
+        Matcher matcher = pattern.matcher(content);
+        List<String> values = new ArrayList<>();
+        if (matcher.find()) {
+            addElements(values, matcher.group(1));
+        }
+        return values;
+    }
+
+    private static void addElements(List<String> target, String text) {
+        Arrays.stream(ELEMENT_SEPARATOR.split(text))
+                .map(value -> ELEMENT_QUOTES.matcher(value).replaceAll(""))
+                .filter(value -> !value.isEmpty())
+                .forEach(target::add);
+    }
+
+    private static boolean isComplete(List<String> genres, List<String> keywords) {
+        return genres != null && !genres.isEmpty() && keywords != null && !keywords.isEmpty();
+    }
+
+    private static GroqDTO.SpotifyAnalysisResult mutableCopy(List<String> genres, List<String> keywords) {
+        return new GroqDTO.SpotifyAnalysisResult(new ArrayList<>(genres), new ArrayList<>(keywords));
+    }
+}
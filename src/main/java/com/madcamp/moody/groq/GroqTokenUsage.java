@@ -0,0 +1,94 @@
+package com.madcamp.moody.groq;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Groq 응답의 usage(prompt/completion 토큰) 누적
+ * - 요청 전에 계산한 추정 토큰 수와 실제 값을 같이 쌓아 TokenEstimator 오차를 확인
+ * - finish_reason 이 length 인 응답(max_tokens 에 걸려 잘린 응답) 수를 따로 집계
+ */
+@Component
+public class GroqTokenUsage implements MeterBinder {
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder callsWithUsage = new LongAdder();
+    private final LongAdder promptTokens = new LongAdder();
+    private final LongAdder completionTokens = new LongAdder();
+    private final LongAdder totalTokens = new LongAdder();
+    private final LongAdder estimatedPromptTokens = new LongAdder();
+    private final LongAdder requestedMaxTokens = new LongAdder();
+    private final LongAdder truncatedResponses = new LongAdder();
+
+    public void record(GroqDTO.GroqRequest request, GroqDTO.GroqResponse response) {
+        calls.increment();
+        if (request.getMaxTokens() != null) {
+            requestedMaxTokens.add(request.getMaxTokens());
+        }
+        if (response == null) {
+            return;
+        }
+        if (response.getChoices() != null && !response.getChoices().isEmpty()
+                && response.getChoices().get(0) != null
+                && "length".equals(response.getChoices().get(0).getFinishReason())) {
+            truncatedResponses.increment();
+        }
+
+        GroqDTO.GroqResponse.Usage usage = response.getUsage();
+        if (usage == null) {
+            return;
+        }
+        // 추정치는 usage 가 있는 호출에 대해서만 더해야 실제 값과 비교할 수 있음
+        callsWithUsage.increment();
+        if (request.getMessages() != null) {
+            for (GroqDTO.GroqRequest.Message message : request.getMessages()) {
+                estimatedPromptTokens.add(TokenEstimator.estimate(message.getContent()));
+            }
+        }
+        if (usage.getPromptTokens() != null) {
+            promptTokens.add(usage.getPromptTokens());
+        }
+        if (usage.getCompletionTokens() != null) {
+            completionTokens.add(usage.getCompletionTokens());
+        }
+        if (usage.getTotalTokens() != null) {
+            totalTokens.add(usage.getTotalTokens());
+        }
+    }
+
+    /**
+     * 평균/비율은 PromQL 로 계산
+     * - 호출당 prompt 토큰: rate(moody_groq_tokens_total{type="prompt"}[5m]) / rate(moody_groq_calls_with_usage_total[5m])
+     * - 추정 오차: rate(moody_groq_tokens_total{type="prompt"}[5m]) / rate(moody_groq_tokens_total{type="estimated_prompt"}[5m])
+     *   (1 보다 크면 추정치가 실제보다 작음)
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("moody.groq.calls", calls, LongAdder::sum)
+                .description("Groq 호출 수")
+                .register(registry);
+        FunctionCounter.builder("moody.groq.calls.with_usage", callsWithUsage, LongAdder::sum)
+                .description("usage 가 포함된 응답 수")
+                .register(registry);
+        tokens(registry, "prompt", promptTokens);
+        tokens(registry, "completion", completionTokens);
+        tokens(registry, "total", totalTokens);
+        tokens(registry, "estimated_prompt", estimatedPromptTokens);
+        tokens(registry, "requested_max", requestedMaxTokens);
+        FunctionCounter.builder("moody.groq.responses.truncated", truncatedResponses, LongAdder::sum)
+                .description("max_tokens 에 걸려 잘린 응답 수 (finish_reason=length)")
+                .register(registry);
+    }
+
+    private static void tokens(MeterRegistry registry, String type, LongAdder count) {
+        FunctionCounter.builder("moody.groq.tokens", count, LongAdder::sum)
+                .description("Groq 토큰 수")
+                .baseUnit("tokens")
+                .tag("type", type)
+                .register(registry);
+    }
+}
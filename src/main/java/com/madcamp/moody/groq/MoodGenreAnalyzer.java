@@ -0,0 +1,160 @@
+package com.madcamp.moody.groq;
+
+import com.madcamp.moody.mood.MoodType;
+import com.madcamp.moody.music.MusicGenre;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 일기 텍스트가 없을 때(기분만 있거나 아무것도 없을 때) Groq 를 호출하지 않고 장르/키워드를 고르는 규칙 기반 분석기
+ * - 기분(MoodType)별 장르/키워드 가중치 표에서 가중치 비례로 뽑음
+ * - 사용자 선호 장르(MusicGenre)는 가중치를 더하고, 그중 하나는 항상 첫 번째 장르로 포함 (Groq 분석의 선호 장르 처리와 동일)
+ * - 같은 seed 면 같은 결과 (호출하는 쪽에서 seed 를 바꿔 매번 다른 조합을 얻음)
+ */
+@Component
+public class MoodGenreAnalyzer {
+
+    // 선호 장르에 더하는 가중치 (첫 번째 장르는 이미 선호 장르이므로 나머지는 기분 쪽 장르가 주로 뽑히도록 작게 둠)
+    private static final int PREFERRED_GENRE_WEIGHT = 1;
+
+    private static final Map<MoodType, Profile> PROFILES = new EnumMap<>(MoodType.class);
+
+    // 기분 정보가 없을 때 ("a normal day")
+    private static final Profile NEUTRAL = new Profile(
+            weights("pop:2, indie:2, acoustic:2, lo-fi:2, r&b:1, jazz:1"),
+            weights("chill:3, everyday:2, easy:2, relaxing:2, smooth:2, daily:1"));
+
+    static {
+        PROFILES.put(MoodType.ANNOYED, new Profile(
+                weights("rock:3, alternative:3, punk:2, lo-fi:2, grunge:1, indie:1"),
+                weights("cathartic:3, frustrated:3, release:2, gritty:2, chill:2, raw:2")));
+        PROFILES.put(MoodType.ANGRY, new Profile(
+                weights("metal:3, hard rock:3, punk:2, hip-hop:2, industrial:1"),
+                weights("aggressive:3, intense:3, powerful:2, cathartic:2, heavy:2, fierce:2")));
+        PROFILES.put(MoodType.TIRED, new Profile(
+                weights("lo-fi:3, acoustic:3, ambient:2, chillhop:2, bossa nova:1, soul:1"),
+                weights("relaxing:3, mellow:3, soft:2, cozy:2, sleepy:2, soothing:2")));
+        PROFILES.put(MoodType.SAD, new Profile(
+                weights("ballad:3, indie folk:2, acoustic:2, piano:2, r&b:1, emo:1"),
+                weights("melancholy:3, emotional:3, heartbreak:2, comforting:2, rainy:2, nostalgic:2")));
+        PROFILES.put(MoodType.WORRIED, new Profile(
+                weights("ambient:3, acoustic:2, classical:2, lo-fi:2, indie:1"),
+                weights("calming:3, reassuring:3, gentle:2, peaceful:2, hopeful:2, soothing:2")));
+        PROFILES.put(MoodType.BORED, new Profile(
+                weights("indie pop:3, funk:2, electronic:2, disco:2, city pop:2, k-pop:1"),
+                weights("upbeat:3, fun:3, groovy:2, fresh:2, playful:2, energetic:2")));
+        PROFILES.put(MoodType.HAPPY, new Profile(
+                weights("pop:3, dance:2, k-pop:2, funk:2, indie pop:2, disco:1"),
+                weights("happy:3, upbeat:3, sunny:2, cheerful:2, bright:2, feel good:2")));
+        PROFILES.put(MoodType.CALM, new Profile(
+                weights("acoustic:3, jazz:2, bossa nova:2, lo-fi:2, folk:2, ambient:1"),
+                weights("peaceful:3, calm:3, warm:2, cozy:2, gentle:2, breezy:1")));
+        PROFILES.put(MoodType.EXCITED, new Profile(
+                weights("dance:3, edm:2, pop:2, k-pop:2, electropop:2, house:1"),
+                weights("exciting:3, energetic:3, party:2, thrilling:2, vibrant:2, euphoric:2")));
+        PROFILES.put(MoodType.PROUD, new Profile(
+                weights("hip-hop:3, pop:2, rock:2, r&b:2, gospel:1"),
+                weights("confident:3, triumphant:3, empowering:2, motivational:2, victory:2, bold:2")));
+        PROFILES.put(MoodType.THANKFUL, new Profile(
+                weights("soul:3, gospel:2, acoustic:2, r&b:2, folk:2, jazz:1"),
+                weights("grateful:3, warm:3, heartfelt:2, uplifting:2, hopeful:2, gentle:2")));
+    }
+
+    /**
+     * @param moodType        그날의 기분 (없으면 null)
+     * @param preferredGenres 사용자 선호 장르 (User.getMusicGenresList, MusicGenre 이름)
+     */
+    public GroqDTO.SpotifyAnalysisResult analyze(MoodType moodType, List<String> preferredGenres, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Profile profile = moodType != null ? PROFILES.getOrDefault(moodType, NEUTRAL) : NEUTRAL;
+
+        Map<String, Integer> genreWeights = new LinkedHashMap<>(profile.genres());
+        List<String> preferred = toSearchGenres(preferredGenres);
+        for (String genre : preferred) {
+            genreWeights.merge(genre, PREFERRED_GENRE_WEIGHT, Integer::sum);
+        }
+
+        List<String> genres = new ArrayList<>(GroqAnalysisSchema.GENRE_COUNT);
+        if (!preferred.isEmpty()) {
+            String first = preferred.get(random.nextInt(preferred.size()));
+            genres.add(first);
+            genreWeights.remove(first);
+        }
+        genres.addAll(pick(genreWeights, GroqAnalysisSchema.GENRE_COUNT - genres.size(), random));
+
+        List<String> keywords = pick(new LinkedHashMap<>(profile.keywords()), GroqAnalysisSchema.KEYWORD_COUNT, random);
+        return new GroqDTO.SpotifyAnalysisResult(genres, keywords);
+    }
+
+    // MusicGenre 이름(hip_hop 등)을 Spotify 검색용 장르명(hip-hop 등)으로 변환, 알 수 없는 값은 제외
+    static List<String> toSearchGenres(List<String> preferredGenres) {
+        List<String> genres = new ArrayList<>();
+        if (preferredGenres == null) {
+            return genres;
+        }
+        for (String name : preferredGenres) {
+            String genre = searchGenre(name);
+            if (genre != null && !genres.contains(genre)) {
+                genres.add(genre);
+            }
+        }
+        return genres;
+    }
+
+    private static String searchGenre(String musicGenreName) {
+        MusicGenre musicGenre;
+        try {
+            musicGenre = MusicGenre.valueOf(musicGenreName);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+        return switch (musicGenre) {
+            case hip_hop -> "hip-hop";
+            case r_n_b -> "r&b";
+            case k_pop -> "k-pop";
+            default -> musicGenre.name();
+        };
+    }
+
+    // 가중치 비례로 중복 없이 count 개 선택 (weights 에서 뽑힌 항목은 제거됨)
+    private static List<String> pick(Map<String, Integer> weights, int count, SplittableRandom random) {
+        List<String> picked = new ArrayList<>(count);
+        while (picked.size() < count && !weights.isEmpty()) {
+            int total = 0;
+            for (int weight : weights.values()) {
+                total += weight;
+            }
+            int target = random.nextInt(total);
+            String chosen = null;
+            for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+                target -= entry.getValue();
+                if (target < 0) {
+                    chosen = entry.getKey();
+                    break;
+                }
+            }
+            picked.add(chosen);
+            weights.remove(chosen);
+        }
+        return picked;
+    }
+
+    // "rock:3, punk:2" 형식
+    private static Map<String, Integer> weights(String spec) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String item : spec.split(",")) {
+            String[] parts = item.trim().split(":");
+            weights.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return weights;
+    }
+
+    private record Profile(Map<String, Integer> genres, Map<String, Integer> keywords) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.madcamp.moody.groq;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 비동기 음악 추천 작업의 상태
+ */
+public class RecommendationJob implements RecommendationProgressListener {
+
+    public enum Stage {
+        QUEUED,          // 대기 중
+        ANALYZING,       // 텍스트 분석 중
+        ANALYSIS_DONE,   // 분석 완료, 트랙 수집 중
+        TRACKS_GATHERED, // 트랙 수집 완료, 저장 중
+        PLAYLIST_SAVED,  // 플레이리스트 저장 완료
+        COMPLETED,       // 결과 반환 가능
+        FAILED           // 실패
+    }
+
+    private final String jobId = UUID.randomUUID().toString();
+    private final String ownerId;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private volatile LocalDateTime updatedAt = createdAt;
+    private volatile Stage stage = Stage.QUEUED;
+    private volatile GroqDTO.MusicAnalysisResponse result;
+    private volatile String error;
+
+    public RecommendationJob(String ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    @Override
+    public void onAnalysisCompleted(GroqDTO.SpotifyAnalysisResult analysis) {
+        moveTo(Stage.ANALYSIS_DONE);
+    }
+
+    @Override
+    public void onTracksGathered(List<GroqDTO.MusicAnalysisResponse.RecommendedTrack> tracks) {
+        moveTo(Stage.TRACKS_GATHERED);
+    }
+
+    @Override
+    public void onPlaylistSaved(String playlistTitle) {
+        moveTo(Stage.PLAYLIST_SAVED);
+    }
+
+    void start() {
+        moveTo(Stage.ANALYZING);
+    }
+
+    void complete(GroqDTO.MusicAnalysisResponse result) {
+        this.result = result;
+        moveTo(Stage.COMPLETED);
+    }
+
+    void fail(String error) {
+        this.error = error;
+        moveTo(Stage.FAILED);
+    }
+
+    public boolean isFinished() {
+        return stage == Stage.COMPLETED || stage == Stage.FAILED;
+    }
+
+    private void moveTo(Stage stage) {
+        this.stage = stage;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public String getJobId() { return jobId; }
+    public String getOwnerId() { return ownerId; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Stage getStage() { return stage; }
+    public GroqDTO.MusicAnalysisResponse getResult() { return result; }
+    public String getError() { return error; }
+}
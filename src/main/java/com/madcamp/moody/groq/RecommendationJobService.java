@@ -0,0 +1,126 @@
+package com.madcamp.moody.groq;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 음악 추천을 요청 스레드 밖에서 실행하는 작업 관리자
+ * - 동시에 실행되는 추천 수와 대기열 크기를 제한 (가득 차면 RejectedExecutionException)
+ * - 끝난 작업은 일정 시간 동안만 결과를 보관
+ */
+@Service
+public class RecommendationJobService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationJobService.class);
+
+    private final GroqService groqService;
+    private final ThreadPoolExecutor executor;
+    private final long retentionMillis;
+    private final Map<String, RecommendationJob> jobs = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+
+    public RecommendationJobService(GroqService groqService,
+                                    @Value("${groq.jobs.max-concurrent:4}") int maxConcurrent,
+                                    @Value("${groq.jobs.queue-capacity:20}") int queueCapacity,
+                                    @Value("${groq.jobs.retention-seconds:600}") long retentionSeconds) {
+        this.groqService = groqService;
+        this.retentionMillis = retentionSeconds * 1000L;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                maxConcurrent, maxConcurrent,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "recommendation-job-" + threadCount.incrementAndGet()),
+                (runnable, pool) -> {
+                    rejected.increment();
+                    throw new RejectedExecutionException("추천 작업 대기열이 가득 참");
+                });
+    }
+
+    /**
+     * 추천 작업을 등록하고 바로 반환
+     * @throws RejectedExecutionException 실행 중 + 대기 중인 작업이 한도를 넘은 경우
+     */
+    public RecommendationJob submit(String prompt, String date, OAuth2User oAuth2User) {
+        purgeExpiredJobs();
+        RecommendationJob job = new RecommendationJob(oAuth2User.getName());
+        jobs.put(job.getJobId(), job);
+        try {
+            executor.execute(() -> run(job, prompt, date, oAuth2User));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            throw e;
+        }
+        return job;
+    }
+
+    // 작업을 조회 (다른 사용자의 작업이면 null)
+    public RecommendationJob getJob(String jobId, OAuth2User oAuth2User) {
+        RecommendationJob job = jobs.get(jobId);
+        if (job == null || !job.getOwnerId().equals(oAuth2User.getName())) {
+            return null;
+        }
+        return job;
+    }
+
+    /**
+     * 작업 객체 없이 같은 실행기(동시 실행 한도)에서 작업을 실행 (SSE 스트리밍 추천용)
+     * @throws RejectedExecutionException 실행 중 + 대기 중인 작업이 한도를 넘은 경우
+     */
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    // executor.active/queued/queue.remaining/completed{name=recommendation-jobs} + 거절 수, 보관 중인 작업 수
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(executor, "recommendation-jobs", Tags.empty()).bindTo(registry);
+        FunctionCounter.builder("moody.recommendation.jobs.rejected", rejected, LongAdder::sum)
+                .description("실행 중 + 대기 중인 작업이 한도를 넘어 거절한 수")
+                .register(registry);
+        Gauge.builder("moody.recommendation.jobs.retained", jobs, Map::size)
+                .description("결과를 보관 중인 작업 수")
+                .register(registry);
+    }
+
+    private void run(RecommendationJob job, String prompt, String date, OAuth2User oAuth2User) {
+        job.start();
+        try {
+            job.complete(groqService.analyzeTextAndRecommendMusic(prompt, date, oAuth2User, job));
+        } catch (Exception e) {
+            log.warn("추천 작업 실패 ({}): {}", job.getJobId(), e.getMessage(), e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    private void purgeExpiredJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minus(Duration.ofMillis(retentionMillis));
+        jobs.values().removeIf(job -> job.isFinished() && job.getUpdatedAt().isBefore(threshold));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
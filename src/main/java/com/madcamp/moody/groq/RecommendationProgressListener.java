@@ -0,0 +1,29 @@
+package com.madcamp.moody.groq;
+
+import java.util.List;
+
+/**
+ * 음악 추천 파이프라인 진행 상황을 전달받는 리스너
+ * 필요한 단계만 구현하면 됨
+ */
+public interface RecommendationProgressListener {
+
+    RecommendationProgressListener NONE = new RecommendationProgressListener() {
+    };
+
+    // 1단계: 텍스트 분석(장르/키워드 추출) 완료
+    default void onAnalysisCompleted(GroqDTO.SpotifyAnalysisResult analysis) {
+    }
+
+    // 트랙 하나가 아티스트 중복/이전 추천 이력 필터를 통과해 추천 목록에 들어감
+    default void onTrackSelected(GroqDTO.MusicAnalysisResponse.RecommendedTrack track) {
+    }
+
+    // 2단계: 추천 트랙 수집 완료
+    default void onTracksGathered(List<GroqDTO.MusicAnalysisResponse.RecommendedTrack> tracks) {
+    }
+
+    // 3단계: 플레이리스트와 음악 저장 완료
+    default void onPlaylistSaved(String playlistTitle) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.madcamp.moody.groq;
+
+/**
+ * 토크나이저 없이 계산하는 대략적인 토큰 수
+ * - 영문/숫자/기호(ASCII): 4글자당 1토큰
+ * - 한글 등 그 외 문자: 글자당 1토큰, 이모지 등 보조 평면 문자: 2토큰
+ * 실제 값은 Groq 응답의 usage 로 확인 (GroqTokenUsage 에서 추정치와 비교)
+ */
+final class TokenEstimator {
+
+    private TokenEstimator() {
+    }
+
+    static int estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int ascii = 0;
+        int tokens = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            if (codePoint < 0x80) {
+                ascii++;
+            } else {
+                tokens += Character.isSupplementaryCodePoint(codePoint) ? 2 : 1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return tokens + (ascii + 3) / 4;
+    }
+
+    /**
+     * 추정 토큰 수가 maxTokens 를 넘지 않도록 앞부분만 남김 (잘린 경우 "..." 추가)
+     */
+    static String truncate(String text, int maxTokens) {
+        if (text == null || estimate(text) <= maxTokens) {
+            return text;
+        }
+        int ascii = 0;
+        int tokens = 0;
+        int end = 0;
+        while (end < text.length()) {
+            int codePoint = text.codePointAt(end);
+            int nextAscii = ascii;
+            int nextTokens = tokens;
+            if (codePoint < 0x80) {
+                nextAscii++;
+            } else {
+                nextTokens += Character.isSupplementaryCodePoint(codePoint) ? 2 : 1;
+            }
+            if (nextTokens + (nextAscii + 3) / 4 > maxTokens) {
+                break;
+            }
+            ascii = nextAscii;
+            tokens = nextTokens;
+            end += Character.charCount(codePoint);
+        }
+        return text.substring(0, end) + "...";
+    }
+}
@@ -14,7 +14,9 @@ import lombok.AllArgsConstructor;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "mood")
+@Table(name = "mood", indexes = {
+    @Index(name = "idx_mood_user_date", columnList = "user_id, date")
+})
 public class Mood extends BaseEntity {
 
     @Id
@@ -0,0 +1,86 @@
+package com.madcamp.moody.mood;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.madcamp.moody.playlist.PlaylistRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 캘린더 월간 요약 조회
+ * 날짜별로 감정/일기/플레이리스트를 따로 조회하지 않고, 감정+일기 한 번, 플레이리스트+곡 수 한 번의 쿼리로 구성
+ */
+@Service
+@Transactional(readOnly = true)
+public class MoodCalendarService {
+
+    private final MoodRepository moodRepository;
+    private final PlaylistRepository playlistRepository;
+    private final MoodMonthSummaryCache monthSummaryCache;
+    private final ObjectMapper objectMapper;
+
+    public MoodCalendarService(MoodRepository moodRepository, PlaylistRepository playlistRepository,
+                               MoodMonthSummaryCache monthSummaryCache, ObjectMapper objectMapper) {
+        this.moodRepository = moodRepository;
+        this.playlistRepository = playlistRepository;
+        this.monthSummaryCache = monthSummaryCache;
+        this.objectMapper = objectMapper;
+    }
+
+    // 캐시에 있으면 그대로, 없으면 계산해서 캐시에 저장
+    public MoodMonthSummaryCache.Entry getMonthSummary(Long userId, YearMonth month) {
+        MoodMonthSummaryCache.Entry cached = monthSummaryCache.get(userId, month);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = monthSummaryCache.stamp();
+        MoodMonthSummaryDTO summary = buildMonthSummary(userId, month);
+        MoodMonthSummaryCache.Entry entry = new MoodMonthSummaryCache.Entry(summary, etag(summary));
+        monthSummaryCache.put(userId, month, entry, stamp);
+        return entry;
+    }
+
+    private MoodMonthSummaryDTO buildMonthSummary(Long userId, YearMonth month) {
+        LocalDate startDate = month.atDay(1);
+        LocalDate endDate = month.atEndOfMonth();
+        Map<LocalDate, MoodMonthSummaryDTO.DaySummary> days = new TreeMap<>();
+
+        // 같은 날짜에 감정이 여러 개면 마지막에 기록한 감정을 사용 (id 오름차순 정렬)
+        for (Object[] row : moodRepository.findMonthWithDiaries(userId, startDate, endDate)) {
+            Mood mood = (Mood) row[0];
+            MoodMonthSummaryDTO.DaySummary day = days.computeIfAbsent(mood.getDate(),
+                    date -> new MoodMonthSummaryDTO.DaySummary(date.toString()));
+            day.setMood(new MoodDTO(mood));
+            day.setDiaryId((Long) row[1]);
+            day.setDiarySnippet((String) row[2]);
+        }
+
+        // 플레이리스트의 diary_id 에는 사용자 ID 가 저장됨
+        for (Object[] row : playlistRepository.findSummariesByDiaryIdAndDateBetween(userId, startDate, endDate)) {
+            LocalDate date = (LocalDate) row[2];
+            days.computeIfAbsent(date, d -> new MoodMonthSummaryDTO.DaySummary(d.toString()))
+                    .getPlaylists()
+                    .add(new MoodMonthSummaryDTO.PlaylistHeader((Long) row[0], (String) row[1], ((Number) row[3]).longValue()));
+        }
+
+        return new MoodMonthSummaryDTO(month.getYear(), month.getMonthValue(), new ArrayList<>(days.values()));
+    }
+
+    // 응답 본문 기준 ETag (내용이 같으면 재시작 후에도 같은 값)
+    private String etag(MoodMonthSummaryDTO summary) {
+        try {
+            return "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(summary)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("월간 요약 직렬화 실패", e);
+        }
+    }
+}
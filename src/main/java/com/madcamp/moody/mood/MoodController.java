@@ -1,8 +1,11 @@
 package com.madcamp.moody.mood;
 
+import com.madcamp.moody.user.CurrentUser;
 import com.madcamp.moody.user.User;
-import com.madcamp.moody.user.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
@@ -10,7 +13,9 @@ import org.springframework.web.bind.annotation.*;
 import com.madcamp.moody.diary.DiaryRepository;
 import com.madcamp.moody.diary.Diary;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
@@ -21,34 +26,31 @@ import java.util.ArrayList;
 @CrossOrigin(origins = "http://127.0.0.1:3000", allowCredentials = "true")
 public class MoodController {
 
+    private static final Logger log = LoggerFactory.getLogger(MoodController.class);
+
     @Autowired
     private MoodRepository moodRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private DiaryRepository diaryRepository;
 
     @Autowired
-    private DiaryRepository diaryRepository;
+    private MoodCalendarService moodCalendarService;
+
+    @Autowired
+    private MoodMonthSummaryCache monthSummaryCache;
 
     @PostMapping
     public ResponseEntity<?> saveMood(
             @RequestBody MoodRequestDTO request,
-            @AuthenticationPrincipal OAuth2User oauth2User
+            @AuthenticationPrincipal OAuth2User oauth2User,
+            @CurrentUser(CurrentUser.Lookup.SPOTIFY_OAUTH_ID) User user
     ) {
         try {
             if (oauth2User == null) {
                 return ResponseEntity.status(401).body("인증이 필요합니다.");
             }
 
-            User user = null;
-            
-            // Spotify 사용자인지 확인 (display_name 속성이 있으면 Spotify)
-            String spotifyDisplayName = oauth2User.getAttribute("display_name");
-            if (spotifyDisplayName != null) {
-                String spotifyId = oauth2User.getAttribute("id");
-                user = userRepository.findBySpotifyOauthId(spotifyId);
-            }
-            
             if (user == null) {
                 return ResponseEntity.status(404).body("사용자를 찾을 수 없습니다");
             }
@@ -63,13 +65,13 @@ public class MoodController {
             mood.setDate(LocalDate.parse(request.getDate()));
 
             moodRepository.save(mood);
+            monthSummaryCache.invalidate(user.getId(), mood.getDate());
 
             return ResponseEntity.ok().body("감정 기록 완료!");
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(400).body("잘못된 감정 타입입니다: " + request.getMoodType());
         } catch (Exception e) {
-            System.err.println("Error in saveMood: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in saveMood", e);
             return ResponseEntity.status(500).body("서버 오류가 발생했습니다: " + e.getMessage());
         }
     }
@@ -77,22 +79,14 @@ public class MoodController {
     @GetMapping("/{date}")
     public ResponseEntity<?> getMoodAndDiary(
         @PathVariable String date,
-        @AuthenticationPrincipal OAuth2User oauth2User
+        @AuthenticationPrincipal OAuth2User oauth2User,
+        @CurrentUser(CurrentUser.Lookup.SPOTIFY_OAUTH_ID) User user
     ) {
         try {
             if (oauth2User == null) {
                 return ResponseEntity.status(401).body("인증이 필요합니다.");
             }
 
-            User user = null;
-            
-            // Spotify 사용자인지 확인 (display_name 속성이 있으면 Spotify)
-            String spotifyDisplayName = oauth2User.getAttribute("display_name");
-            if (spotifyDisplayName != null) {
-                String spotifyId = oauth2User.getAttribute("id");
-                user = userRepository.findBySpotifyOauthId(spotifyId);
-            }
-
             if (user == null) {
                 return ResponseEntity.status(404).body("사용자를 찾을 수 없습니다.");
             }
@@ -113,8 +107,7 @@ public class MoodController {
 
             return ResponseEntity.ok(result);
         } catch (Exception e) {
-            System.err.println("무드/다이어리 조회 오류: " + e.getMessage());
-            e.printStackTrace();
+            log.error("무드/다이어리 조회 오류", e);
             return ResponseEntity.status(500).body("서버 오류가 발생했습니다: " + e.getMessage());
         }
     }
@@ -123,22 +116,14 @@ public class MoodController {
     public ResponseEntity<?> getMonthlyMoods(
         @RequestParam int year,
         @RequestParam int month,
-        @AuthenticationPrincipal OAuth2User oauth2User
+        @AuthenticationPrincipal OAuth2User oauth2User,
+        @CurrentUser(CurrentUser.Lookup.SPOTIFY_OAUTH_ID) User user
     ) {
         try {
             if (oauth2User == null) {
                 return ResponseEntity.status(401).body("인증이 필요합니다.");
             }
 
-            User user = null;
-            
-            // Spotify 사용자인지 확인 (display_name 속성이 있으면 Spotify)
-            String spotifyDisplayName = oauth2User.getAttribute("display_name");
-            if (spotifyDisplayName != null) {
-                String spotifyId = oauth2User.getAttribute("id");
-                user = userRepository.findBySpotifyOauthId(spotifyId);
-            }
-
             if (user == null) {
                 return ResponseEntity.status(404).body("사용자를 찾을 수 없습니다.");
             }
@@ -155,8 +140,39 @@ public class MoodController {
 
             return ResponseEntity.ok(moodDTOs);
         } catch (Exception e) {
-            System.err.println("월별 무드 조회 오류: " + e.getMessage());
-            e.printStackTrace();
+            log.error("월별 무드 조회 오류", e);
+            return ResponseEntity.status(500).body("서버 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+
+    // 캘린더 한 달 화면용 요약 (감정, 일기 앞부분, 플레이리스트와 곡 수)
+    // ETag 를 붙여 반환하면 Spring 이 If-None-Match 와 비교해 같으면 본문 없이 304 로 응답
+    @GetMapping("/month/summary")
+    public ResponseEntity<?> getMonthSummary(
+        @RequestParam int year,
+        @RequestParam int month,
+        @AuthenticationPrincipal OAuth2User oauth2User,
+        @CurrentUser(CurrentUser.Lookup.SPOTIFY_OAUTH_ID) User user
+    ) {
+        try {
+            if (oauth2User == null) {
+                return ResponseEntity.status(401).body("인증이 필요합니다.");
+            }
+
+            if (user == null) {
+                return ResponseEntity.status(404).body("사용자를 찾을 수 없습니다.");
+            }
+
+            MoodMonthSummaryCache.Entry summary = moodCalendarService.getMonthSummary(user.getId(), YearMonth.of(year, month));
+
+            return ResponseEntity.ok()
+                    .eTag(summary.etag())
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(summary.summary());
+        } catch (DateTimeException e) {
+            return ResponseEntity.status(400).body("잘못된 연/월입니다: " + year + "-" + month);
+        } catch (Exception e) {
+            log.error("월간 요약 조회 오류", e);
             return ResponseEntity.status(500).body("서버 오류가 발생했습니다: " + e.getMessage());
         }
     }
@@ -0,0 +1,136 @@
+package com.madcamp.moody.mood;
+
+import com.madcamp.moody.config.CacheMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * (사용자, 월) -> 월간 요약 + ETag 캐시
+ * - 감정/일기/플레이리스트/음악이 바뀌면 해당 사용자의 항목을 제거 (트랜잭션 안이면 커밋 후 제거)
+ * - 계산 도중에 무효화가 일어나면 계산 결과를 저장하지 않음 (오래된 요약이 남지 않도록)
+ */
+@Component
+public class MoodMonthSummaryCache implements MeterBinder {
+
+    private final int maxEntries;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final LinkedHashMap<Key, Entry> entries;
+
+    public MoodMonthSummaryCache(@Value("${mood.month-cache.max-entries:5000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > MoodMonthSummaryCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    record Key(Long userId, YearMonth month) {
+    }
+
+    public record Entry(MoodMonthSummaryDTO summary, String etag) {
+    }
+
+    public Entry get(Long userId, YearMonth month) {
+        synchronized (entries) {
+            Entry entry = entries.get(new Key(userId, month));
+            if (entry != null) {
+                hits.increment();
+                return entry;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    // 계산을 시작하기 전에 받아 두고 put 할 때 넘김
+    public long stamp() {
+        return generation.get();
+    }
+
+    public void put(Long userId, YearMonth month, Entry entry, long stamp) {
+        synchronized (entries) {
+            if (generation.get() == stamp) {
+                entries.put(new Key(userId, month), entry);
+            }
+        }
+    }
+
+    // 특정 날짜의 기록이 바뀐 경우
+    public void invalidate(Long userId, LocalDate date) {
+        if (userId == null || date == null) {
+            invalidateUser(userId);
+            return;
+        }
+        Key key = new Key(userId, YearMonth.from(date));
+        afterCommit(() -> entries.remove(key));
+    }
+
+    // 어느 달이 바뀌었는지 모르는 경우 해당 사용자의 모든 달을 제거
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            invalidateAll();
+            return;
+        }
+        afterCommit(() -> entries.keySet().removeIf(key -> key.userId().equals(userId)));
+    }
+
+    public void invalidateAll() {
+        afterCommit(entries::clear);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CacheMetrics.bind(registry, "mood-month-summary", this, MoodMonthSummaryCache::size, hits, misses, evictions);
+        CacheMetrics.bindEvent(registry, "mood-month-summary", "invalidations", invalidations, "기록 변경으로 제거한 횟수");
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void afterCommit(Runnable removal) {
+        Runnable invalidation = () -> {
+            synchronized (entries) {
+                generation.incrementAndGet();
+                removal.run();
+            }
+            invalidations.increment();
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        } else {
+            invalidation.run();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.madcamp.moody.mood;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 캘린더 한 달 화면에 필요한 데이터 (감정, 일기 앞부분, 플레이리스트 제목과 곡 수)
+ * 기록이 있는 날짜만 날짜순으로 포함
+ */
+@Getter
+@AllArgsConstructor
+public class MoodMonthSummaryDTO {
+    private int year;
+    private int month;
+    private List<DaySummary> days;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class DaySummary {
+        private String date;
+        private MoodDTO mood;
+        private Long diaryId;
+        private String diarySnippet;
+        private List<PlaylistHeader> playlists = new ArrayList<>();
+
+        public DaySummary(String date) {
+            this.date = date;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class PlaylistHeader {
+        private Long playlistId;
+        private String title;
+        private long trackCount;
+    }
+}
@@ -6,8 +6,17 @@ import java.util.List;
 import com.madcamp.moody.user.User;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface MoodRepository extends JpaRepository<Mood, Long> {
     Mood findByUserAndDate(User user, LocalDate date);
     List<Mood> findByUserAndDateBetween(User user, LocalDate startDate, LocalDate endDate);
+
+    // 기간 내 감정과 연결된 일기(id, 앞 100자)를 한 번에 조회 -> [Mood, diaryId, diarySnippet]
+    @Query("SELECT m, d.id, SUBSTRING(d.content, 1, 100) FROM Mood m LEFT JOIN Diary d ON d.mood = m " +
+           "WHERE m.user.id = :userId AND m.date BETWEEN :startDate AND :endDate ORDER BY m.date ASC, m.id ASC")
+    List<Object[]> findMonthWithDiaries(@Param("userId") Long userId,
+                                        @Param("startDate") LocalDate startDate,
+                                        @Param("endDate") LocalDate endDate);
 }
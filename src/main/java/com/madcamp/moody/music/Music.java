@@ -5,7 +5,10 @@ import com.madcamp.moody.user.User;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "music")
+@Table(name = "music", indexes = {
+    @Index(name = "idx_music_user_track", columnList = "user_id, track_id"),
+    @Index(name = "idx_music_user_music", columnList = "user_id, music_id")
+})
 public class Music {
 
     @Id
@@ -19,6 +22,10 @@ public class Music {
     @Column(name = "playlist_id", nullable = false)
     private Long playlistId;
 
+    // music_url 에서 추출한 Spotify 트랙 ID (추천 이력 조회용)
+    @Column(name = "track_id", length = 64)
+    private String trackId;
+
     // Playlist와의 관계 (Many-to-One)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "playlist_id", insertable = false, updatable = false)
@@ -64,6 +71,27 @@ public class Music {
         this.playlistId = playlistId;
     }
 
+    public String getTrackId() {
+        return trackId;
+    }
+
+    public void setTrackId(String trackId) {
+        this.trackId = trackId;
+    }
+
+    // "https://open.spotify.com/track/TRACK_ID" 형식에서 TRACK_ID 추출
+    public static String extractTrackId(String musicUrl) {
+        if (musicUrl == null || musicUrl.isEmpty()) {
+            return null;
+        }
+        int end = musicUrl.indexOf('?');
+        if (end < 0) {
+            end = musicUrl.length();
+        }
+        int start = musicUrl.lastIndexOf('/', end - 1) + 1;
+        return start < end ? musicUrl.substring(start, end) : null;
+    }
+
     public Playlist getPlaylist() {
         return playlist;
     }
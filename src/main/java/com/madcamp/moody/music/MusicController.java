@@ -1,9 +1,18 @@
 package com.madcamp.moody.music;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.madcamp.moody.controller.CursorPage;
+import com.madcamp.moody.controller.NdjsonBody;
+import com.madcamp.moody.user.CurrentUser;
+import com.madcamp.moody.user.User;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,17 +23,47 @@ import java.util.Optional;
 public class MusicController {
 
     private final MusicService musicService;
+    private final ObjectMapper objectMapper;
+
+    // 내보내기 요청 하나의 최대 시간 (다른 비동기 요청의 시간 제한에는 영향 없음)
+    @Value("${export.timeout-ms:600000}")
+    private long exportTimeoutMs;
 
     @Autowired
-    public MusicController(MusicService musicService) {
+    public MusicController(MusicService musicService, ObjectMapper objectMapper) {
         this.musicService = musicService;
+        this.objectMapper = objectMapper;
     }
 
-    // 모든 music 조회
+    /**
+     * @deprecated 전체 테이블을 읽던 기존 목록 API. 로그인한 사용자의 첫 페이지(최대 CursorPage.MAX_SIZE 개)만 반환하므로
+     * 목록 화면은 /page, 전체 내보내기는 /export 사용
+     */
+    @Deprecated
     @GetMapping
-    public ResponseEntity<List<MusicDTO>> getAllMusic() {
-        List<MusicDTO> musicList = musicService.getAllMusic();
-        return ResponseEntity.ok(musicList);
+    public ResponseEntity<List<MusicDTO>> getAllMusic(@CurrentUser User user) {
+        Long userId = requireUserId(user);
+        return ResponseEntity.ok(musicService.getMusicPage(userId, 0, CursorPage.MAX_SIZE));
+    }
+
+    // 로그인한 사용자의 music_id 기준 커서 페이지: 다음 페이지는 after=nextCursor
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<MusicDTO>> getMusicPage(
+            @CurrentUser User user,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        Long userId = requireUserId(user);
+        int limit = CursorPage.clampSize(size);
+        List<MusicDTO> musicList = musicService.getMusicPage(userId, after, limit);
+        return ResponseEntity.ok(CursorPage.of(musicList, limit, MusicDTO::getMusicId));
+    }
+
+    // 로그인한 사용자의 music 를 NDJSON 으로 스트리밍 (페이지 단위로 읽는 대로 전송, 시간 제한은 export.timeout-ms)
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportMusic(@CurrentUser User user, HttpServletResponse response) {
+        Long userId = requireUserId(user);
+        return NdjsonBody.<MusicDTO>task(exportTimeoutMs, response, objectMapper,
+                sink -> musicService.forEachMusic(userId, sink));
     }
 
     // ID로 music 조회
@@ -112,6 +151,13 @@ public class MusicController {
         return ResponseEntity.ok(isOwned);
     }
 
+    private static Long requireUserId(User user) {
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "인증이 필요합니다.");
+        }
+        return user.getId();
+    }
+
     // 에러 처리
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException e) {
@@ -1,6 +1,7 @@
 package com.madcamp.moody.music;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -48,7 +49,7 @@ public enum MusicGenre {
             case "댄스": return MusicGenre.dance;
             case "인디": return MusicGenre.indie;
             default:
-                System.out.println("변환되지 않은 장르: " + frontendGenre);
+                LoggerFactory.getLogger(MusicGenre.class).warn("변환되지 않은 장르: {}", frontendGenre);
                 return null;
         }
     }
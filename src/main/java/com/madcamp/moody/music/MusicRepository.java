@@ -1,17 +1,25 @@
 package com.madcamp.moody.music;
 
 import com.madcamp.moody.playlist.Playlist;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface MusicRepository extends JpaRepository<Music, Long> {
+public interface MusicRepository extends JpaRepository<Music, Long>, MusicRepositoryCustom {
+
+    // 사용자의 music 중 music_id 가 afterId 보다 큰 것을 limit 개 (keyset 페이지, /page 와 내보내기)
+    // idx_music_user_music 범위 조회 (user_id 가 비어 있던 예전 행은 V5 에서 플레이리스트 주인으로 채움)
+    @Query("SELECT new com.madcamp.moody.music.MusicDTO(m.musicId, m.musicUrl, m.playlistId) " +
+           "FROM Music m WHERE m.user.id = :userId AND m.musicId > :afterId ORDER BY m.musicId ASC")
+    List<MusicDTO> findPageByUserIdAfter(@Param("userId") Long userId, @Param("afterId") long afterId, Limit limit);
 
     // playlist_id로 music 찾기
     List<Music> findByPlaylistId(Long playlistId);
@@ -35,8 +43,28 @@ public interface MusicRepository extends JpaRepository<Music, Long> {
     // music_id와 playlist_id로 찾기 (소유권 확인용)
     Optional<Music> findByMusicIdAndPlaylistId(Long musicId, Long playlistId);
 
-    // 특정 playlist_id에 속한 모든 music 삭제
-    void deleteByPlaylistId(Long playlistId);
+    // 특정 playlist_id에 속한 모든 music 삭제 (파생 delete 는 조회 후 한 건씩 지우므로 한 번의 DELETE 로 처리)
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Music m WHERE m.playlistId = :playlistId")
+    int deleteByPlaylistId(@Param("playlistId") Long playlistId);
+
+    // 플레이리스트에 음악이 있는 사용자 ID (삭제 후 해당 사용자의 추천 이력만 무효화)
+    @Query("SELECT DISTINCT m.user.id FROM Music m WHERE m.playlistId = :playlistId AND m.user IS NOT NULL")
+    List<Long> findUserIdsByPlaylistId(@Param("playlistId") Long playlistId);
+
+    // 특정 diary_id와 날짜의 플레이리스트에 속한 모든 music 삭제
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Music m WHERE m.playlistId IN " +
+           "(SELECT p.playlistId FROM Playlist p WHERE p.diaryId = :diaryId AND p.date = :date)")
+    int deleteByPlaylistDiaryIdAndDate(@Param("diaryId") Long diaryId, @Param("date") LocalDate date);
 
     List<Music> findByUserId(Long userId);
+
+    // 사용자가 추천받은 트랙 ID 목록 (엔티티 대신 track_id 컬럼만 조회)
+    @Query("SELECT DISTINCT m.trackId FROM Music m WHERE m.user.id = :userId AND m.trackId IS NOT NULL")
+    List<String> findTrackIdsByUserId(@Param("userId") Long userId);
+
+    // track_id 컬럼이 추가되기 전에 저장된 음악의 URL (track_id 를 URL 에서 추출해야 함)
+    @Query("SELECT m.musicUrl FROM Music m WHERE m.user.id = :userId AND m.trackId IS NULL")
+    List<String> findLegacyMusicUrlsByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.madcamp.moody.music;
+
+import java.util.List;
+
+public interface MusicRepositoryCustom {
+
+    // 여러 music 을 JDBC 배치 한 번으로 저장하고, 생성된 music_id 를 각 엔티티에 채움
+    void insertAll(List<Music> musicList);
+}
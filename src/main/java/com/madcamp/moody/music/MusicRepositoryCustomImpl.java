@@ -0,0 +1,66 @@
+package com.madcamp.moody.music;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Music 은 IDENTITY 전략이라 Hibernate 가 INSERT 를 배치로 묶지 못하므로
+ * 대량 저장은 JdbcTemplate 배치로 처리 (MySQL 은 rewriteBatchedStatements=true 이면 한 번의 multi-row INSERT)
+ */
+public class MusicRepositoryCustomImpl implements MusicRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO music (music_url, playlist_id, user_id, track_id) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MusicRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<Music> musicList) {
+        if (musicList.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Music music = musicList.get(i);
+                        ps.setString(1, music.getMusicUrl());
+                        ps.setLong(2, music.getPlaylistId());
+                        if (music.getUser() != null) {
+                            ps.setLong(3, music.getUser().getId());
+                        } else {
+                            ps.setNull(3, Types.BIGINT);
+                        }
+                        ps.setString(4, music.getTrackId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return musicList.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < musicList.size() && i < keys.size(); i++) {
+            Object key = keys.get(i).values().iterator().next();
+            musicList.get(i).setMusicId(((Number) key).longValue());
+        }
+    }
+}
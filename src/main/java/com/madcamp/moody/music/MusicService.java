@@ -1,35 +1,71 @@
 package com.madcamp.moody.music;
 
+import com.madcamp.moody.mood.MoodMonthSummaryCache;
+import com.madcamp.moody.playlist.Playlist;
+import com.madcamp.moody.playlist.PlaylistRepository;
 import com.madcamp.moody.user.User;
 import com.madcamp.moody.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class MusicService {
 
+    // 내보내기에서 한 번에 읽는 행 수
+    static final int EXPORT_PAGE_SIZE = 500;
+
     private final MusicRepository musicRepository;
+    private final PlaylistRepository playlistRepository;
     private final UserRepository userRepository;
+    private final TrackHistoryIndex trackHistoryIndex;
+    private final MoodMonthSummaryCache monthSummaryCache;
 
     @Autowired
-    public MusicService(MusicRepository musicRepository, UserRepository userRepository) {
+    public MusicService(MusicRepository musicRepository, PlaylistRepository playlistRepository, UserRepository userRepository,
+                        TrackHistoryIndex trackHistoryIndex, MoodMonthSummaryCache monthSummaryCache) {
         this.musicRepository = musicRepository;
+        this.playlistRepository = playlistRepository;
         this.userRepository = userRepository;
+        this.trackHistoryIndex = trackHistoryIndex;
+        this.monthSummaryCache = monthSummaryCache;
     }
 
-    // 모든 music 조회
+    // 사용자의 music 중 music_id 가 afterId 보다 큰 것을 size 개 (keyset 페이지)
     @Transactional(readOnly = true)
-    public List<MusicDTO> getAllMusic() {
-        return musicRepository.findAll()
-                .stream()
-                .map(MusicDTO::fromEntity)
-                .collect(Collectors.toList());
+    public List<MusicDTO> getMusicPage(Long userId, long afterId, int size) {
+        return musicRepository.findPageByUserIdAfter(userId, afterId, Limit.of(size));
+    }
+
+    /**
+     * 사용자의 music 를 music_id 순으로 한 건씩 sink 에 전달 (내보내기용)
+     * 트랜잭션 없이 실행하고 EXPORT_PAGE_SIZE 개씩 짧은 읽기 트랜잭션으로 나눠 읽으므로,
+     * 클라이언트가 느리게 받아도 DB 커넥션/트랜잭션을 붙잡고 있지 않음 (메모리에는 한 페이지만 유지)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachMusic(Long userId, Consumer<MusicDTO> sink) {
+        long afterId = 0;
+        List<MusicDTO> page;
+        do {
+            page = musicRepository.findPageByUserIdAfter(userId, afterId, Limit.of(EXPORT_PAGE_SIZE));
+            page.forEach(sink);
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getMusicId();
+            }
+        } while (page.size() == EXPORT_PAGE_SIZE);
     }
 
     // ID로 music 조회
@@ -73,32 +109,59 @@ public class MusicService {
             throw new IllegalArgumentException("해당 플레이리스트에 동일한 URL의 음악이 이미 존재합니다.");
         }
 
+        // user_id 로 사용자별 페이지/내보내기를 하므로 플레이리스트 주인을 user 로 저장
+        Long ownerId = ownerIdOf(musicDTO.getPlaylistId());
         Music music = new Music(musicDTO.getMusicUrl(), musicDTO.getPlaylistId());
+        music.setTrackId(Music.extractTrackId(musicDTO.getMusicUrl()));
+        music.setUser(getUserReference(ownerId));
         Music savedMusic = musicRepository.save(music);
+        addToHistoryAfterCommit(List.of(savedMusic));
+        monthSummaryCache.invalidateUser(ownerId);
         return MusicDTO.fromEntity(savedMusic);
     }
 
-    // 여러 music 생성
+    // 여러 music 생성 (사용자는 한 번만 확인하고, INSERT 는 JDBC 배치 한 번으로 처리)
+    // 사용자 ID 가 없으면 플레이리스트 주인으로 저장
     public List<MusicDTO> createMusics(List<MusicDTO> musicDTOs) {
+        Map<Long, User> usersById = new HashMap<>();
+        Map<Long, Long> ownerIdsByPlaylistId = new HashMap<>();
         List<Music> musicList = musicDTOs.stream()
                 .map(dto -> {
                     Music music = new Music(dto.getMusicUrl(), dto.getPlaylistId());
-                    if (dto.getUserId() != null) {
-                        User user = userRepository.findById(dto.getUserId())
-                                .orElseThrow(() -> new IllegalArgumentException("Invalid user Id:" + dto.getUserId()));
-                        music.setUser(user);
-                    }
+                    music.setTrackId(Music.extractTrackId(dto.getMusicUrl()));
+                    Long userId = dto.getUserId() != null
+                            ? dto.getUserId()
+                            : ownerIdsByPlaylistId.computeIfAbsent(dto.getPlaylistId(), this::ownerIdOf);
+                    music.setUser(usersById.computeIfAbsent(userId, this::getUserReference));
                     return music;
                 })
                 .collect(Collectors.toList());
         
-        List<Music> savedMusicList = musicRepository.saveAll(musicList);
+        musicRepository.insertAll(musicList);
+        addToHistoryAfterCommit(musicList);
+        // 플레이리스트의 diary_id 는 사용자 ID 이므로 사용자 단위로 월간 요약(곡 수) 무효화
+        usersById.keySet().forEach(monthSummaryCache::invalidateUser);
         
-        return savedMusicList.stream()
+        return musicList.stream()
                 .map(MusicDTO::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    // 플레이리스트 주인(diary_id) = 사용자 ID
+    private Long ownerIdOf(Long playlistId) {
+        return playlistRepository.findById(playlistId)
+                .map(Playlist::getDiaryId)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid playlist Id:" + playlistId));
+    }
+
+    // 존재 여부만 확인하고 실제 User 대신 프록시를 사용 (user_id 만 필요하므로 엔티티 로딩 불필요)
+    private User getUserReference(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("Invalid user Id:" + userId);
+        }
+        return userRepository.getReferenceById(userId);
+    }
+
     // music 업데이트
     public MusicDTO updateMusic(Long musicId, MusicDTO musicDTO) {
         Music existingMusic = musicRepository.findById(musicId)
@@ -111,24 +174,45 @@ public class MusicService {
             }
         }
 
+        Long previousUserId = userIdOf(existingMusic);
+        // 다른 플레이리스트로 옮기면 그 플레이리스트 주인의 음악이 됨
+        if (!Objects.equals(existingMusic.getPlaylistId(), musicDTO.getPlaylistId())) {
+            existingMusic.setUser(getUserReference(ownerIdOf(musicDTO.getPlaylistId())));
+        }
         existingMusic.setMusicUrl(musicDTO.getMusicUrl());
+        existingMusic.setTrackId(Music.extractTrackId(musicDTO.getMusicUrl()));
         existingMusic.setPlaylistId(musicDTO.getPlaylistId());
 
         Music updatedMusic = musicRepository.save(existingMusic);
+        // 트랙이 바뀌었을 수 있으므로 이 음악의 사용자 이력만 커밋 후 다시 읽음 (주인이 바뀌었으면 이전 사용자도)
+        trackHistoryIndex.invalidateAfterCommit(userIdOf(updatedMusic));
+        if (!Objects.equals(previousUserId, userIdOf(updatedMusic))) {
+            trackHistoryIndex.invalidateAfterCommit(previousUserId);
+        }
+        monthSummaryCache.invalidateAll();
         return MusicDTO.fromEntity(updatedMusic);
     }
 
     // music 삭제
     public void deleteMusic(Long musicId) {
-        if (!musicRepository.existsById(musicId)) {
-            throw new IllegalArgumentException("해당 ID의 음악을 찾을 수 없습니다: " + musicId);
-        }
-        musicRepository.deleteById(musicId);
+        Music music = musicRepository.findById(musicId)
+                .orElseThrow(() -> new IllegalArgumentException("해당 ID의 음악을 찾을 수 없습니다: " + musicId));
+        musicRepository.delete(music);
+        trackHistoryIndex.invalidateAfterCommit(userIdOf(music));
+        monthSummaryCache.invalidateAll();
     }
 
     // 특정 playlist_id에 속한 모든 music 삭제
     public void deleteMusicByPlaylistId(Long playlistId) {
+        List<Long> userIds = musicRepository.findUserIdsByPlaylistId(playlistId);
         musicRepository.deleteByPlaylistId(playlistId);
+        userIds.forEach(trackHistoryIndex::invalidateAfterCommit);
+        monthSummaryCache.invalidateAll();
+    }
+
+    // 사용자 없이 저장된 음악은 추천 이력에 포함되지 않으므로 null
+    private static Long userIdOf(Music music) {
+        return music.getUser() != null ? music.getUser().getId() : null;
     }
 
     // 특정 playlist_id에 속한 music 개수 조회
@@ -143,19 +227,26 @@ public class MusicService {
         return musicRepository.findByMusicIdAndPlaylistId(musicId, playlistId).isPresent();
     }
 
-    // 사용자가 추천받은 모든 음악의 trackId 조회
+    // 사용자가 추천받은 모든 음악의 trackId 조회 (메모리 인덱스, 포함 여부 확인은 O(1))
     @Transactional(readOnly = true)
-    public List<String> findTrackIdsByUserId(Long userId) {
-        return musicRepository.findByUserId(userId)
-                .stream()
-                .map(music -> {
-                    String url = music.getMusicUrl();
-                    // "https://open.spotify.com/track/TRACK_ID" 형식에서 TRACK_ID 추출
-                    String[] parts = url.split("/");
-                    return parts.length > 0 ? parts[parts.length - 1] : null;
-                })
-                .filter(id -> id != null && !id.isEmpty())
-                .distinct()
-                .collect(Collectors.toList());
+    public Set<String> findTrackIdsByUserId(Long userId) {
+        return trackHistoryIndex.getOrLoad(userId, () -> {
+            List<String> trackIds = new ArrayList<>(musicRepository.findTrackIdsByUserId(userId));
+            // track_id 컬럼이 생기기 전에 저장된 음악은 URL 에서 추출
+            musicRepository.findLegacyMusicUrlsByUserId(userId).stream()
+                    .map(Music::extractTrackId)
+                    .filter(Objects::nonNull)
+                    .forEach(trackIds::add);
+            return trackIds;
+        });
+    }
+
+    // 트랜잭션이 커밋된 뒤에 추천 이력 인덱스에 반영 (롤백된 음악이 이력에 남지 않도록)
+    private void addToHistoryAfterCommit(List<Music> savedMusicList) {
+        TrackHistoryIndex.afterCommit(() -> savedMusicList.stream()
+                .filter(music -> music.getUser() != null && music.getTrackId() != null)
+                .collect(Collectors.groupingBy(music -> music.getUser().getId(),
+                        Collectors.mapping(Music::getTrackId, Collectors.toList())))
+                .forEach(trackHistoryIndex::addAll));
     }
-} 
\ No newline at end of file
+}
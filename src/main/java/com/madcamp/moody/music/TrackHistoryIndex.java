@@ -0,0 +1,109 @@
+package com.madcamp.moody.music;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 추천 이력(트랙 ID) 인메모리 인덱스
+ * - 사용자별로 처음 조회할 때 DB 에서 한 번만 읽고, 이후 저장되는 음악은 증분으로 추가
+ * - 포함 여부 확인은 이력 크기와 관계없이 O(1)
+ * - 최근에 사용한 사용자 수만큼만 메모리에 유지 (LRU)
+ * - 변경은 트랜잭션이 커밋된 뒤에 반영하고, 그동안 진행 중이던 로드 결과는 캐시하지 않음 (커밋 전 이력이 남지 않도록)
+ */
+@Component
+public class TrackHistoryIndex {
+
+    private final int maxUsers;
+    private final LinkedHashMap<Long, Set<String>> trackIdsByUser;
+    // 무효화할 때마다 증가, 로드 시작 후 값이 바뀌었으면 읽은 이력이 이미 오래된 것일 수 있음
+    private final AtomicLong generation = new AtomicLong();
+
+    public TrackHistoryIndex(@Value("${music.history-index.max-users:10000}") int maxUsers) {
+        this.maxUsers = maxUsers;
+        this.trackIdsByUser = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Set<String>> eldest) {
+                return size() > TrackHistoryIndex.this.maxUsers;
+            }
+        };
+    }
+
+    /**
+     * 사용자의 추천 이력 (읽기 전용, 이후 추가되는 트랙도 반영됨)
+     * 아직 메모리에 없으면 loader 로 DB 에서 읽어옴
+     */
+    public Set<String> getOrLoad(Long userId, Supplier<Collection<String>> loader) {
+        synchronized (trackIdsByUser) {
+            Set<String> trackIds = trackIdsByUser.get(userId);
+            if (trackIds != null) {
+                return Collections.unmodifiableSet(trackIds);
+            }
+        }
+        long startGeneration = generation.get();
+        Set<String> loaded = ConcurrentHashMap.newKeySet();
+        loaded.addAll(loader.get());
+        synchronized (trackIdsByUser) {
+            if (generation.get() != startGeneration) {
+                // 읽는 도중 다른 트랜잭션이 이력을 바꿈: 이번 결과만 사용하고 다음 조회 때 다시 읽음
+                return Collections.unmodifiableSet(loaded);
+            }
+            Set<String> existing = trackIdsByUser.putIfAbsent(userId, loaded);
+            return Collections.unmodifiableSet(existing != null ? existing : loaded);
+        }
+    }
+
+    // 새로 저장된 트랙을 이력에 추가 (메모리에 없는 사용자는 다음 조회 때 DB 에서 읽으므로 무시)
+    public void addAll(Long userId, Collection<String> trackIds) {
+        Set<String> existing;
+        synchronized (trackIdsByUser) {
+            existing = trackIdsByUser.get(userId);
+            if (existing == null) {
+                // 커밋 전에 시작한 로드가 새 트랙 없이 캐시되지 않도록
+                generation.incrementAndGet();
+            }
+        }
+        if (existing != null) {
+            existing.addAll(trackIds);
+        }
+    }
+
+    // 음악이 삭제/변경되어 이력이 달라진 경우 다음 조회 때 다시 읽도록 제거
+    public void invalidate(Long userId) {
+        synchronized (trackIdsByUser) {
+            generation.incrementAndGet();
+            trackIdsByUser.remove(userId);
+        }
+    }
+
+    // 트랜잭션 안에서 호출하면 커밋된 뒤에 제거 (커밋 전에 제거하면 다른 요청이 바뀌기 전 행을 다시 캐시할 수 있음)
+    public void invalidateAfterCommit(Long userId) {
+        if (userId != null) {
+            afterCommit(() -> invalidate(userId));
+        }
+    }
+
+    // 트랜잭션이 커밋된 뒤에 실행 (롤백되면 실행하지 않음), 트랜잭션 밖이면 바로 실행
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
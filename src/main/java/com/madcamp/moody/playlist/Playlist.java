@@ -6,7 +6,10 @@ import java.time.LocalDate;
 import org.hibernate.annotations.CreationTimestamp;
 
 @Entity
-@Table(name = "playlist")
+@Table(name = "playlist", indexes = {
+    @Index(name = "idx_playlist_diary_date", columnList = "diary_id, date"),
+    @Index(name = "idx_playlist_diary_playlist", columnList = "diary_id, playlist_id")
+})
 public class Playlist {
 
     @Id
@@ -1,11 +1,23 @@
 package com.madcamp.moody.playlist;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.madcamp.moody.config.LogMarkers;
+import com.madcamp.moody.controller.CursorPage;
+import com.madcamp.moody.controller.NdjsonBody;
 import com.madcamp.moody.music.MusicDTO;
 import com.madcamp.moody.music.MusicService;
+import com.madcamp.moody.user.CurrentUser;
+import com.madcamp.moody.user.User;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,24 +29,52 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class PlaylistController {
 
+    private static final Logger log = LoggerFactory.getLogger(PlaylistController.class);
+
     private final PlaylistService playlistService;
     private final MusicService musicService;
+    private final ObjectMapper objectMapper;
+
+    // 내보내기 요청 하나의 최대 시간 (다른 비동기 요청의 시간 제한에는 영향 없음)
+    @Value("${export.timeout-ms:600000}")
+    private long exportTimeoutMs;
 
     @Autowired
-    public PlaylistController(PlaylistService playlistService, MusicService musicService) {
+    public PlaylistController(PlaylistService playlistService, MusicService musicService, ObjectMapper objectMapper) {
         this.playlistService = playlistService;
         this.musicService = musicService;
+        this.objectMapper = objectMapper;
     }
 
-    // 모든 playlist 조회
+    /**
+     * @deprecated 전체 테이블을 읽던 기존 목록 API. 로그인한 사용자의 첫 페이지(최대 CursorPage.MAX_SIZE 개)만 반환하므로
+     * 목록 화면은 /page, 전체 내보내기는 /export 사용
+     */
+    @Deprecated
     @GetMapping
-    public ResponseEntity<List<PlaylistDTO>> getAllPlaylists() {
-        List<PlaylistDTO> playlists = playlistService.getAllPlaylists();
-        System.out.println("전체 플레이리스트 수: " + playlists.size());
-        for (PlaylistDTO playlist : playlists) {
-            System.out.println("플레이리스트: " + playlist.getTitle() + ", 사용자 ID: " + playlist.getDiaryId() + ", 날짜: " + playlist.getDate());
-        }
-        return ResponseEntity.ok(playlists);
+    public ResponseEntity<List<PlaylistDTO>> getAllPlaylists(@CurrentUser User user) {
+        Long userId = requireUserId(user);
+        return ResponseEntity.ok(playlistService.getPlaylistPage(userId, 0, CursorPage.MAX_SIZE));
+    }
+
+    // 로그인한 사용자의 playlist_id 기준 커서 페이지: 다음 페이지는 after=nextCursor
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<PlaylistDTO>> getPlaylistPage(
+            @CurrentUser User user,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        Long userId = requireUserId(user);
+        int limit = CursorPage.clampSize(size);
+        List<PlaylistDTO> playlists = playlistService.getPlaylistPage(userId, after, limit);
+        return ResponseEntity.ok(CursorPage.of(playlists, limit, PlaylistDTO::getPlaylistId));
+    }
+
+    // 로그인한 사용자의 playlist 를 NDJSON 으로 스트리밍 (페이지 단위로 읽는 대로 전송, 시간 제한은 export.timeout-ms)
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportPlaylists(@CurrentUser User user, HttpServletResponse response) {
+        Long userId = requireUserId(user);
+        return NdjsonBody.<PlaylistDTO>task(exportTimeoutMs, response, objectMapper,
+                sink -> playlistService.forEachPlaylist(userId, sink));
     }
 
     // 사용자 ID와 날짜로 플레이리스트 조회 (음악 목록 포함) - 더 구체적인 패턴이므로 먼저 배치
@@ -43,13 +83,13 @@ public class PlaylistController {
             @PathVariable Long userId, 
             @PathVariable String date) {
         try {
-            System.out.println("플레이리스트 조회 요청: 사용자 ID " + userId + ", 날짜 " + date);
+            log.debug("플레이리스트 조회 요청: 사용자 ID {}, 날짜 {}", userId, date);
             java.time.LocalDate localDate = java.time.LocalDate.parse(date);
             List<PlaylistDTO> playlists = playlistService.getPlaylistsByUserAndDate(userId, localDate);
             
-            System.out.println("조회된 플레이리스트 수: " + playlists.size());
+            log.debug("조회된 플레이리스트 수: {}", playlists.size());
             for (PlaylistDTO playlist : playlists) {
-                System.out.println("플레이리스트: " + playlist.getTitle() + ", 날짜: " + playlist.getDate() + ", ID: " + playlist.getPlaylistId());
+                log.debug(LogMarkers.SAMPLED, "플레이리스트: {}, 날짜: {}, ID: {}", playlist.getTitle(), playlist.getDate(), playlist.getPlaylistId());
             }
             
             Map<String, Object> response = new HashMap<>();
@@ -59,15 +99,14 @@ public class PlaylistController {
             if (!playlists.isEmpty()) {
                 PlaylistDTO firstPlaylist = playlists.get(0);
                 List<MusicDTO> musicList = musicService.getMusicByPlaylistId(firstPlaylist.getPlaylistId());
-                System.out.println("첫 번째 플레이리스트의 음악 수: " + musicList.size());
+                log.debug("첫 번째 플레이리스트의 음악 수: {}", musicList.size());
                 response.put("musicList", musicList);
                 response.put("playlistTitle", firstPlaylist.getTitle());
             }
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("플레이리스트 조회 오류: " + e.getMessage());
-            e.printStackTrace();
+            log.error("플레이리스트 조회 오류", e);
             return ResponseEntity.badRequest().build();
         }
     }
@@ -152,6 +191,13 @@ public class PlaylistController {
     
 
 
+    private static Long requireUserId(User user) {
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "인증이 필요합니다.");
+        }
+        return user.getId();
+    }
+
     // 에러 처리
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException e) {
@@ -1,6 +1,8 @@
 package com.madcamp.moody.playlist;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,6 +13,12 @@ import java.util.Optional;
 @Repository
 public interface PlaylistRepository extends JpaRepository<Playlist, Long> {
 
+    // 사용자(diary_id)의 playlist 중 playlist_id 가 afterId 보다 큰 것을 limit 개 (keyset 페이지, /page 와 내보내기)
+    // idx_playlist_diary_playlist 범위 조회라 OFFSET 없이 일정한 비용, 엔티티 대신 DTO 로 바로 조회해 영속성 컨텍스트에 쌓이지 않게 함
+    @Query("SELECT new com.madcamp.moody.playlist.PlaylistDTO(p.playlistId, p.title, p.diaryId, p.date, p.createdAt) " +
+           "FROM Playlist p WHERE p.diaryId = :diaryId AND p.playlistId > :afterId ORDER BY p.playlistId ASC")
+    List<PlaylistDTO> findPageByDiaryIdAfter(@Param("diaryId") Long diaryId, @Param("afterId") long afterId, Limit limit);
+
     // diary_id로 playlist 찾기
     List<Playlist> findByDiaryId(Long diaryId);
 
@@ -35,4 +43,18 @@ public interface PlaylistRepository extends JpaRepository<Playlist, Long> {
     
     // 사용자 ID와 날짜로 플레이리스트 찾기
     List<Playlist> findByDiaryIdAndDate(Long diaryId, java.time.LocalDate date);
+
+    // 기간 내 플레이리스트 제목과 곡 수 -> [playlistId, title, date, trackCount]
+    @Query("SELECT p.playlistId, p.title, p.date, COUNT(m.musicId) FROM Playlist p " +
+           "LEFT JOIN Music m ON m.playlistId = p.playlistId " +
+           "WHERE p.diaryId = :diaryId AND p.date BETWEEN :startDate AND :endDate " +
+           "GROUP BY p.playlistId, p.title, p.date ORDER BY p.date ASC, p.playlistId ASC")
+    List<Object[]> findSummariesByDiaryIdAndDateBetween(@Param("diaryId") Long diaryId,
+                                                        @Param("startDate") java.time.LocalDate startDate,
+                                                        @Param("endDate") java.time.LocalDate endDate);
+
+    // 사용자 ID와 날짜의 플레이리스트 일괄 삭제 (music 은 먼저 MusicRepository 로 삭제해야 함)
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Playlist p WHERE p.diaryId = :diaryId AND p.date = :date")
+    int deleteByDiaryIdAndDate(@Param("diaryId") Long diaryId, @Param("date") java.time.LocalDate date);
 } 
\ No newline at end of file
@@ -1,34 +1,71 @@
 package com.madcamp.moody.playlist;
 
+import com.madcamp.moody.mood.MoodMonthSummaryCache;
+import com.madcamp.moody.music.MusicDTO;
 import com.madcamp.moody.music.MusicRepository;
+import com.madcamp.moody.music.MusicService;
+import com.madcamp.moody.music.TrackHistoryIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class PlaylistService {
 
+    private static final Logger log = LoggerFactory.getLogger(PlaylistService.class);
+
+    // 내보내기에서 한 번에 읽는 행 수
+    static final int EXPORT_PAGE_SIZE = 500;
+
     private final PlaylistRepository playlistRepository;
     private final MusicRepository musicRepository;
+    private final MusicService musicService;
+    private final TrackHistoryIndex trackHistoryIndex;
+    private final MoodMonthSummaryCache monthSummaryCache;
 
     @Autowired
-    public PlaylistService(PlaylistRepository playlistRepository, MusicRepository musicRepository) {
+    public PlaylistService(PlaylistRepository playlistRepository, MusicRepository musicRepository,
+                           MusicService musicService, TrackHistoryIndex trackHistoryIndex,
+                           MoodMonthSummaryCache monthSummaryCache) {
         this.playlistRepository = playlistRepository;
         this.musicRepository = musicRepository;
+        this.musicService = musicService;
+        this.trackHistoryIndex = trackHistoryIndex;
+        this.monthSummaryCache = monthSummaryCache;
     }
 
-    // 모든 playlist 조회
+    // 사용자의 playlist 중 playlist_id 가 afterId 보다 큰 것을 size 개 (keyset 페이지)
     @Transactional(readOnly = true)
-    public List<PlaylistDTO> getAllPlaylists() {
-        return playlistRepository.findAll()
-                .stream()
-                .map(PlaylistDTO::fromEntity)
-                .collect(Collectors.toList());
+    public List<PlaylistDTO> getPlaylistPage(Long userId, long afterId, int size) {
+        return playlistRepository.findPageByDiaryIdAfter(userId, afterId, Limit.of(size));
+    }
+
+    /**
+     * 사용자의 playlist 를 playlist_id 순으로 한 건씩 sink 에 전달 (내보내기용)
+     * 트랜잭션 없이 실행하고 EXPORT_PAGE_SIZE 개씩 짧은 읽기 트랜잭션으로 나눠 읽으므로,
+     * 클라이언트가 느리게 받아도 DB 커넥션/트랜잭션을 붙잡고 있지 않음 (메모리에는 한 페이지만 유지)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachPlaylist(Long userId, Consumer<PlaylistDTO> sink) {
+        long afterId = 0;
+        List<PlaylistDTO> page;
+        do {
+            page = playlistRepository.findPageByDiaryIdAfter(userId, afterId, Limit.of(EXPORT_PAGE_SIZE));
+            page.forEach(sink);
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getPlaylistId();
+            }
+        } while (page.size() == EXPORT_PAGE_SIZE);
     }
 
     // ID로 playlist 조회
@@ -74,36 +111,43 @@ public class PlaylistService {
 
         Playlist playlist = new Playlist(playlistDTO.getTitle(), playlistDTO.getDiaryId(), playlistDTO.getDate());
         Playlist savedPlaylist = playlistRepository.save(playlist);
+        monthSummaryCache.invalidate(savedPlaylist.getDiaryId(), savedPlaylist.getDate());
         return PlaylistDTO.fromEntity(savedPlaylist);
     }
 
     // playlist 생성 또는 업데이트 (같은 날짜에 기존 플레이리스트가 있으면 덮어씀)
     public PlaylistDTO createOrUpdatePlaylist(PlaylistDTO playlistDTO) {
-        System.out.println("createOrUpdatePlaylist 호출: diaryId=" + playlistDTO.getDiaryId() + ", date=" + playlistDTO.getDate());
+        log.debug("createOrUpdatePlaylist 호출: diaryId={}, date={}", playlistDTO.getDiaryId(), playlistDTO.getDate());
         
-        // 같은 날짜에 기존 플레이리스트가 있는지 확인
-        List<Playlist> existingPlaylists = playlistRepository.findByDiaryIdAndDate(playlistDTO.getDiaryId(), playlistDTO.getDate());
+        // 같은 날짜의 기존 플레이리스트와 음악을 두 번의 DELETE 로 삭제 (음악 먼저)
+        int deletedMusic = musicRepository.deleteByPlaylistDiaryIdAndDate(playlistDTO.getDiaryId(), playlistDTO.getDate());
+        int deletedPlaylists = playlistRepository.deleteByDiaryIdAndDate(playlistDTO.getDiaryId(), playlistDTO.getDate());
         
-        if (!existingPlaylists.isEmpty()) {
-            System.out.println("기존 플레이리스트 발견: " + existingPlaylists.size() + "개");
-            // 기존 플레이리스트가 있으면 모두 삭제 (음악도 함께 삭제됨)
-            for (Playlist existingPlaylist : existingPlaylists) {
-                System.out.println("기존 플레이리스트 삭제: playlistId=" + existingPlaylist.getPlaylistId());
-                // 연관된 음악들 먼저 삭제
-                musicRepository.deleteByPlaylistId(existingPlaylist.getPlaylistId());
-                // 플레이리스트 삭제
-                playlistRepository.deleteById(existingPlaylist.getPlaylistId());
-            }
+        if (deletedPlaylists > 0) {
+            log.debug("기존 플레이리스트 삭제: {}개 (음악 {}곡)", deletedPlaylists, deletedMusic);
+            // 삭제된 음악은 더 이상 추천 이력이 아니므로 커밋 후 다음 조회 때 다시 읽음
+            trackHistoryIndex.invalidateAfterCommit(playlistDTO.getDiaryId());
         }
         
         // 새 플레이리스트 생성
         Playlist playlist = new Playlist(playlistDTO.getTitle(), playlistDTO.getDiaryId(), playlistDTO.getDate());
         Playlist savedPlaylist = playlistRepository.save(playlist);
-        System.out.println("새 플레이리스트 생성: playlistId=" + savedPlaylist.getPlaylistId());
+        monthSummaryCache.invalidate(playlistDTO.getDiaryId(), playlistDTO.getDate());
+        log.info("새 플레이리스트 생성: playlistId={}", savedPlaylist.getPlaylistId());
         
         return PlaylistDTO.fromEntity(savedPlaylist);
     }
 
+    // 같은 날짜의 플레이리스트를 새 플레이리스트와 음악 목록으로 교체 (삭제, 생성, 음악 일괄 저장이 한 트랜잭션)
+    public PlaylistDTO replacePlaylist(PlaylistDTO playlistDTO, List<MusicDTO> musicDTOs) {
+        PlaylistDTO savedPlaylist = createOrUpdatePlaylist(playlistDTO);
+        for (MusicDTO musicDTO : musicDTOs) {
+            musicDTO.setPlaylistId(savedPlaylist.getPlaylistId());
+        }
+        musicService.createMusics(musicDTOs);
+        return savedPlaylist;
+    }
+
     // playlist 업데이트
     public PlaylistDTO updatePlaylist(Long playlistId, PlaylistDTO playlistDTO) {
         Playlist existingPlaylist = playlistRepository.findById(playlistId)
@@ -116,8 +160,10 @@ public class PlaylistService {
             }
         }
 
+        monthSummaryCache.invalidate(existingPlaylist.getDiaryId(), existingPlaylist.getDate());
         existingPlaylist.setTitle(playlistDTO.getTitle());
         existingPlaylist.setDiaryId(playlistDTO.getDiaryId());
+        monthSummaryCache.invalidate(existingPlaylist.getDiaryId(), existingPlaylist.getDate());
 
         Playlist updatedPlaylist = playlistRepository.save(existingPlaylist);
         return PlaylistDTO.fromEntity(updatedPlaylist);
@@ -129,6 +175,7 @@ public class PlaylistService {
             throw new IllegalArgumentException("해당 ID의 플레이리스트를 찾을 수 없습니다: " + playlistId);
         }
         playlistRepository.deleteById(playlistId);
+        monthSummaryCache.invalidateAll();
     }
 
     // 특정 diary_id에 속한 playlist 개수 조회
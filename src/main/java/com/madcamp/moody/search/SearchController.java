@@ -0,0 +1,53 @@
+package com.madcamp.moody.search;
+
+import com.madcamp.moody.user.CurrentUser;
+import com.madcamp.moody.user.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 로그인한 사용자의 플레이리스트 제목 / 일기 본문 검색 (관련도순)
+ * 예: GET /api/search/diaries?q=비 오는 날&page=0&size=20
+ */
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    @GetMapping("/playlists")
+    public ResponseEntity<?> searchPlaylists(
+            @CurrentUser User user,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + SearchService.DEFAULT_SIZE) int size) {
+        if (user == null) {
+            return ResponseEntity.status(401).body("인증이 필요합니다.");
+        }
+        return ResponseEntity.ok(searchService.searchPlaylists(user.getId(), q, page, size));
+    }
+
+    @GetMapping("/diaries")
+    public ResponseEntity<?> searchDiaries(
+            @CurrentUser User user,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + SearchService.DEFAULT_SIZE) int size) {
+        if (user == null) {
+            return ResponseEntity.status(401).body("인증이 필요합니다.");
+        }
+        return ResponseEntity.ok(searchService.searchDiaries(user.getId(), q, page, size));
+    }
+
+    // 검색어/페이지 오류
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
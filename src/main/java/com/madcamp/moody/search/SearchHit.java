@@ -0,0 +1,13 @@
+package com.madcamp.moody.search;
+
+import java.time.LocalDate;
+
+/**
+ * 검색 결과 한 건
+ * - id: playlist_id 또는 diary id
+ * - text: 플레이리스트 제목 또는 일기 앞부분
+ * - date: 플레이리스트 날짜 또는 일기의 감정 기록 날짜
+ * - score: MySQL 전문 검색 relevance (같은 검색 종류 안에서만 비교 가능)
+ */
+public record SearchHit(Long id, String text, LocalDate date, double score) {
+}
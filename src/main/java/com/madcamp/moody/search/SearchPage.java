@@ -0,0 +1,9 @@
+package com.madcamp.moody.search;
+
+import java.util.List;
+
+/**
+ * 관련도순 검색 결과 페이지 (hasNext 가 true 면 page + 1 로 다음 페이지 요청)
+ */
+public record SearchPage(String query, int page, int size, boolean hasNext, List<SearchHit> items) {
+}
@@ -0,0 +1,52 @@
+package com.madcamp.moody.search;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * 사용자별 전문 검색 (V4 의 FULLTEXT ngram 인덱스 사용)
+ * MATCH ... AGAINST 는 JPQL 로 쓸 수 없어 JdbcTemplate 로 조회
+ * query 는 SearchService.toBooleanQuery 로 만든 BOOLEAN MODE 검색식
+ */
+@Repository
+public class SearchRepository {
+
+    // 파라미터: query, query, userId, limit, offset (QueryIndexUsageTests 에서 같은 SQL 로 EXPLAIN 확인)
+    // playlist.diary_id 는 사용자 ID
+    public static final String PLAYLIST_SQL =
+            "SELECT p.playlist_id, p.title, p.date, MATCH(p.title) AGAINST (? IN BOOLEAN MODE) AS score " +
+            "FROM playlist p " +
+            "WHERE MATCH(p.title) AGAINST (? IN BOOLEAN MODE) AND p.diary_id = ? " +
+            "ORDER BY score DESC, p.playlist_id DESC LIMIT ? OFFSET ?";
+
+    // 본문 전체 대신 앞부분만 전송 (월간 요약의 일기 미리보기와 같은 방식)
+    public static final String DIARY_SQL =
+            "SELECT d.id, SUBSTRING(d.content, 1, " + SearchService.SNIPPET_LENGTH + "), m.date, " +
+            "MATCH(d.content) AGAINST (? IN BOOLEAN MODE) AS score " +
+            "FROM diary d LEFT JOIN mood m ON m.id = d.mood_id " +
+            "WHERE MATCH(d.content) AGAINST (? IN BOOLEAN MODE) AND d.user_id = ? " +
+            "ORDER BY score DESC, d.id DESC LIMIT ? OFFSET ?";
+
+    private static final RowMapper<SearchHit> HIT_MAPPER = (rs, rowNum) -> {
+        Date date = rs.getDate(3);
+        return new SearchHit(rs.getLong(1), rs.getString(2), date != null ? date.toLocalDate() : null, rs.getDouble(4));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<SearchHit> searchPlaylists(Long userId, String query, int limit, int offset) {
+        return jdbcTemplate.query(PLAYLIST_SQL, HIT_MAPPER, query, query, userId, limit, offset);
+    }
+
+    public List<SearchHit> searchDiaries(Long userId, String query, int limit, int offset) {
+        return jdbcTemplate.query(DIARY_SQL, HIT_MAPPER, query, query, userId, limit, offset);
+    }
+}
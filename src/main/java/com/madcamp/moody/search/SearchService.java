@@ -0,0 +1,90 @@
+package com.madcamp.moody.search;
+
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 플레이리스트 제목 / 일기 본문 검색
+ * - 검색어를 FULLTEXT BOOLEAN MODE 검색식으로 바꾸고, 관련도순으로 page 단위 조회
+ * - 로그인한 사용자의 데이터만 검색
+ */
+@Service
+public class SearchService {
+
+    static final int SNIPPET_LENGTH = 200;
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 50;
+    // 관련도순은 keyset 으로 넘길 수 없어 OFFSET 을 쓰므로, 깊은 페이지로 갈수록 느려지지 않게 제한
+    public static final int MAX_PAGE = 50;
+
+    // MySQL ngram_token_size 기본값: 이보다 짧은 단어는 색인되지 않아 찾을 수 없음
+    static final int MIN_TERM_LENGTH = 2;
+
+    // BOOLEAN MODE 연산자 (사용자 입력에서는 제거)
+    private static final Pattern OPERATORS = Pattern.compile("[+\\-<>()~*\"@]");
+
+    private final SearchRepository searchRepository;
+
+    public SearchService(SearchRepository searchRepository) {
+        this.searchRepository = searchRepository;
+    }
+
+    public SearchPage searchPlaylists(Long userId, String query, int page, int size) {
+        return search(query, page, size,
+                (booleanQuery, limit, offset) -> searchRepository.searchPlaylists(userId, booleanQuery, limit, offset));
+    }
+
+    public SearchPage searchDiaries(Long userId, String query, int page, int size) {
+        return search(query, page, size,
+                (booleanQuery, limit, offset) -> searchRepository.searchDiaries(userId, booleanQuery, limit, offset));
+    }
+
+    private SearchPage search(String query, int page, int size, Finder finder) {
+        String booleanQuery = toBooleanQuery(query);
+        if (booleanQuery == null) {
+            throw new IllegalArgumentException("검색어에 " + MIN_TERM_LENGTH + "글자 이상인 단어가 하나 이상 있어야 합니다.");
+        }
+        if (page < 0 || page > MAX_PAGE) {
+            throw new IllegalArgumentException("page 는 0 이상 " + MAX_PAGE + " 이하여야 합니다.");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_SIZE));
+
+        // 한 건 더 읽어서 다음 페이지가 있는지 확인
+        List<SearchHit> hits = finder.find(booleanQuery, pageSize + 1, page * pageSize);
+        boolean hasNext = hits.size() > pageSize;
+        List<SearchHit> items = hasNext ? new ArrayList<>(hits.subList(0, pageSize)) : hits;
+        return new SearchPage(query.trim(), page, pageSize, hasNext, items);
+    }
+
+    /**
+     * 공백으로 나눈 단어를 모두 포함해야 하는 검색식 (+"단어1" +"단어2")
+     * ngram 인덱스에서 따옴표로 묶은 단어는 글자 순서까지 일치해야 하므로 LIKE '%단어%' 를 단어마다 AND 한 것과 비슷한 결과
+     * 검색할 수 있는 단어가 없으면 null
+     */
+    static String toBooleanQuery(String query) {
+        if (query == null) {
+            return null;
+        }
+        StringBuilder booleanQuery = new StringBuilder();
+        for (String term : query.trim().split("\\s+")) {
+            String cleaned = OPERATORS.matcher(term).replaceAll("");
+            if (cleaned.codePointCount(0, cleaned.length()) < MIN_TERM_LENGTH) {
+                continue;
+            }
+            if (booleanQuery.length() > 0) {
+                booleanQuery.append(' ');
+            }
+            booleanQuery.append("+\"").append(cleaned).append('"');
+        }
+        return booleanQuery.length() > 0 ? booleanQuery.toString() : null;
+    }
+
+    @FunctionalInterface
+    private interface Finder {
+        List<SearchHit> find(String booleanQuery, int limit, int offset);
+    }
+}
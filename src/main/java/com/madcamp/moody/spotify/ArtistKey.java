@@ -0,0 +1,106 @@
+package com.madcamp.moody.spotify;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 아티스트 중복 확인용 키
+ * - 첫 번째(대표) 아티스트만 사용: ",", "&", "feat.", "ft." 앞부분 ("A (feat. B)" -> "A")
+ * - 공백 제거 + 대소문자 무시 ("Artist 1" 과 "artist1" 은 같은 아티스트)
+ * - 한글/전각 문자가 섞인 이름은 NFKC 정규화 후 Locale.ROOT 로 소문자 변환
+ * 정규식 없이 한 번 훑어서 만들고, 같은 이름은 다시 계산하지 않도록 캐시
+ */
+public final class ArtistKey {
+
+    // 캐시가 너무 커지면 비우고 다시 채움 (아티스트 이름 종류는 제한적이라 대부분 적중)
+    static final int MAX_CACHED = 50_000;
+    private static final ConcurrentHashMap<String, String> CACHE = new ConcurrentHashMap<>();
+
+    private ArtistKey() {
+    }
+
+    public static String of(String artist) {
+        if (artist == null) {
+            return "";
+        }
+        String cached = CACHE.get(artist);
+        if (cached != null) {
+            return cached;
+        }
+        String key = normalize(artist);
+        if (CACHE.size() >= MAX_CACHED) {
+            CACHE.clear();
+        }
+        CACHE.put(artist, key);
+        return key;
+    }
+
+    // 현재 캐시된 이름 수 (테스트용)
+    static int cachedCount() {
+        return CACHE.size();
+    }
+
+    // 캐시를 거치지 않고 키 계산 (벤치마크용)
+    static String normalize(String artist) {
+        int end = primaryArtistEnd(artist);
+        char[] buffer = new char[end];
+        int length = 0;
+        for (int i = 0; i < end; i++) {
+            char c = artist.charAt(i);
+            if (c >= 0x80) {
+                return foldUnicode(artist.substring(0, end));
+            }
+            if (c <= ' ') {
+                continue;
+            }
+            buffer[length++] = (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+        }
+        return new String(buffer, 0, length);
+    }
+
+    // 대표 아티스트 이름이 끝나는 위치 (구분자가 없으면 전체 길이)
+    private static int primaryArtistEnd(String artist) {
+        int end = artist.length();
+        for (int i = 0; i < artist.length(); i++) {
+            char c = artist.charAt(i);
+            if (c == ',' || c == '&' || c == '，' || c == '＆') {
+                end = i;
+                break;
+            }
+            if ((c == 'f' || c == 'F') && isWordStart(artist, i)
+                    && (artist.regionMatches(true, i, "feat.", 0, 5) || artist.regionMatches(true, i, "ft.", 0, 3))) {
+                end = i;
+                break;
+            }
+        }
+        // "A (feat. B)" 처럼 구분자 앞에 남은 공백/여는 괄호 제거
+        while (end > 0) {
+            char c = artist.charAt(end - 1);
+            if (c == '(' || c == '[' || Character.isWhitespace(c)) {
+                end--;
+            } else {
+                break;
+            }
+        }
+        // 구분자로 시작하는 이상한 이름은 전체를 사용
+        return end == 0 ? artist.length() : end;
+    }
+
+    private static boolean isWordStart(String text, int index) {
+        return index == 0 || !Character.isLetterOrDigit(text.charAt(index - 1));
+    }
+
+    private static String foldUnicode(String name) {
+        String folded = Normalizer.normalize(name, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder key = new StringBuilder(folded.length());
+        for (int i = 0; i < folded.length(); ) {
+            int codePoint = folded.codePointAt(i);
+            if (!Character.isWhitespace(codePoint) && !Character.isSpaceChar(codePoint)) {
+                key.appendCodePoint(codePoint);
+            }
+            i += Character.charCount(codePoint);
+        }
+        return key.toString();
+    }
+}
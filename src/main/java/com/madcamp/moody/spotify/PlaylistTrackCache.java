@@ -0,0 +1,127 @@
+package com.madcamp.moody.spotify;
+
+import com.madcamp.moody.config.CacheMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 플레이리스트 ID -> 트랙 목록 캐시 (여러 요청이 공유)
+ * - TTL 안에서는 그대로 사용
+ * - TTL 이 지났더라도 검색 결과의 snapshot_id 가 같으면 플레이리스트가 바뀌지 않은 것이므로 재사용
+ * - 그 외에는 저장해 둔 ETag 로 조건부 요청(If-None-Match)을 보내 304 면 재사용
+ */
+@Component
+public class PlaylistTrackCache implements MeterBinder {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    public PlaylistTrackCache(@Value("${spotify.playlist-cache.max-entries:2000}") int maxEntries,
+                              @Value("${spotify.playlist-cache.ttl-seconds:1800}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > PlaylistTrackCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 네트워크 요청 없이 쓸 수 있는 트랙 목록을 반환, 없으면 null
+     * (null 인 경우 misses 로 집계되며, 이후 조건부 요청이 304 를 받으면 notModified 로 따로 집계)
+     */
+    public List<SpotifyDTO.MusicRecommendation.RecommendedTrack> get(String playlistId, String snapshotId) {
+        synchronized (entries) {
+            Entry entry = entries.get(playlistId);
+            if (entry != null) {
+                if (entry.expiresAt() > System.currentTimeMillis()) {
+                    hits.increment();
+                    return entry.tracks();
+                }
+                if (snapshotId != null && snapshotId.equals(entry.snapshotId())) {
+                    // 네트워크 요청 없이 재사용했으므로 적중으로도 집계
+                    hits.increment();
+                    revalidations.increment();
+                    entries.put(playlistId, entry.renewed(System.currentTimeMillis() + ttlMillis));
+                    return entry.tracks();
+                }
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    // 조건부 요청에 사용할 ETag (없으면 null)
+    public String etag(String playlistId) {
+        synchronized (entries) {
+            Entry entry = entries.get(playlistId);
+            return entry != null ? entry.etag() : null;
+        }
+    }
+
+    // 304 Not Modified 응답을 받은 경우 기존 항목의 TTL 을 연장하고 트랙 목록을 반환
+    public List<SpotifyDTO.MusicRecommendation.RecommendedTrack> notModified(String playlistId, String snapshotId) {
+        synchronized (entries) {
+            Entry entry = entries.get(playlistId);
+            if (entry == null) {
+                return null;
+            }
+            notModified.increment();
+            Entry renewed = new Entry(entry.tracks(), snapshotId != null ? snapshotId : entry.snapshotId(),
+                    entry.etag(), System.currentTimeMillis() + ttlMillis);
+            entries.put(playlistId, renewed);
+            return renewed.tracks();
+        }
+    }
+
+    public void put(String playlistId, String snapshotId, String etag,
+                    List<SpotifyDTO.MusicRecommendation.RecommendedTrack> tracks) {
+        Entry entry = new Entry(List.copyOf(tracks), snapshotId, etag, System.currentTimeMillis() + ttlMillis);
+        synchronized (entries) {
+            entries.put(playlistId, entry);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CacheMetrics.bind(registry, "playlist-tracks", this, PlaylistTrackCache::size, hits, misses, evictions);
+        CacheMetrics.bindEvent(registry, "playlist-tracks", "revalidations", revalidations,
+                "TTL 이 지났지만 snapshot_id 가 같아 재사용한 수 (적중 수에 포함)");
+        CacheMetrics.bindEvent(registry, "playlist-tracks", "not_modified", notModified,
+                "조건부 요청이 304 를 받아 재사용한 수 (미스 수에 포함)");
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry(List<SpotifyDTO.MusicRecommendation.RecommendedTrack> tracks,
+                         String snapshotId, String etag, long expiresAt) {
+        Entry renewed(long newExpiresAt) {
+            return new Entry(tracks, snapshotId, etag, newExpiresAt);
+        }
+    }
+}
@@ -51,8 +51,12 @@ public class SpotifyDTO {
 
     public static class SimplifiedPlaylist {
         private String id;
+        @JsonProperty("snapshot_id")
+        private String snapshotId;
         public String getId() { return id; }
         public void setId(String id) { this.id = id; }
+        public String getSnapshotId() { return snapshotId; }
+        public void setSnapshotId(String snapshotId) { this.snapshotId = snapshotId; }
     }
 
     public static class Track {
@@ -0,0 +1,101 @@
+package com.madcamp.moody.spotify;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Spotify 검색/트랙 조회를 가상 스레드로 동시에 실행하는 fan-out 엔진
+ * - 동시에 나가는 Spotify 호출 수는 세마포어로 제한
+ * - 전체 작업은 하나의 마감 시간(deadline) 안에서만 기다리고, 그때까지 모인 부분 결과를 반환
+ */
+@Component
+public class SpotifyFanout {
+
+    private static final Logger log = LoggerFactory.getLogger(SpotifyFanout.class);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+    private final long deadlineMillis;
+
+    public SpotifyFanout(@Value("${spotify.fanout.max-concurrency:8}") int maxConcurrency,
+                         @Value("${spotify.fanout.deadline-ms:5000}") long deadlineMillis) {
+        this.permits = new Semaphore(maxConcurrency);
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    // 지금부터 설정된 시간만큼 뒤의 마감 시각 (System.nanoTime 기준)
+    public long newDeadline() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+    }
+
+    /**
+     * 작업들을 동시에 실행하고, 마감 시각까지 끝난 작업의 결과만 합쳐서 반환
+     * 실패하거나 시간 안에 끝나지 않은 작업은 결과에서 빠지며, 끝나지 않은 작업은 취소됨
+     */
+    public <T> List<T> collect(List<Callable<List<T>>> tasks, long deadlineNanos) {
+        List<Future<List<T>>> futures = new ArrayList<>(tasks.size());
+        for (Callable<List<T>> task : tasks) {
+            futures.add(executor.submit(task));
+        }
+
+        List<T> results = new ArrayList<>();
+        for (Future<List<T>> future : futures) {
+            long remaining = deadlineNanos - System.nanoTime();
+            try {
+                List<T> partial = remaining > 0
+                        ? future.get(remaining, TimeUnit.NANOSECONDS)
+                        : (future.isDone() ? future.get() : null);
+                if (partial != null) {
+                    results.addAll(partial);
+                } else {
+                    future.cancel(true);
+                }
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("Spotify fan-out 마감 시간 초과로 작업 취소");
+            } catch (ExecutionException e) {
+                log.warn("Spotify fan-out 작업 실패: {}", e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                break;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 동시 실행 한도 안에서 Spotify 호출 하나를 실행
+     * 바깥 작업이 아닌 실제 HTTP 호출만 감싸야 중첩 fan-out에서 교착 상태가 생기지 않음
+     */
+    public <T> T throttled(Callable<T> call, long deadlineNanos) throws Exception {
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining <= 0 || !permits.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+            throw new TimeoutException("Spotify 호출 슬롯을 마감 시간 안에 얻지 못했습니다.");
+        }
+        try {
+            return call.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
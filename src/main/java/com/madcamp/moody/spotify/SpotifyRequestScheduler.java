@@ -0,0 +1,302 @@
+package com.madcamp.moody.spotify;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * api.spotify.com 호출 스케줄러
+ * - 앱 전체 호출 속도를 토큰 버킷으로 제한 (초당 rate-per-second, 최대 burst 개까지 몰아서 사용 가능)
+ * - 429 응답의 Retry-After 동안은 모든 호출을 멈추고, 마감 시간 안이면 같은 요청을 한 번 다시 보냄
+ * - 재생 제어 등 사용자가 기다리는 호출(INTERACTIVE)을 추천용 검색(BACKGROUND)보다 먼저 내보냄
+ * - 대기열이 가득 찼거나 마감 시간 안에 차례가 오지 않으면 바로 실패시켜 부하가 몰릴 때 재시도가 늘어나지 않게 함
+ * 대기열 길이/중단 시간은 gauge, 내보낸/버린 요청과 429 응답은 counter 로 /actuator/prometheus 에 노출 (moody.spotify.scheduler.*)
+ */
+@Component
+public class SpotifyRequestScheduler implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SpotifyRequestScheduler.class);
+
+    public enum Priority {
+        INTERACTIVE,
+        BACKGROUND
+    }
+
+    // Retry-After 헤더가 없는 429 응답에 적용할 대기 시간
+    private static final long DEFAULT_RETRY_AFTER_MILLIS = 1000L;
+
+    private final double permitsPerNano;
+    private final double burst;
+    private final int maxQueue;
+    private final long interactiveTimeoutMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Map<Priority, ArrayDeque<Object>> queues = new EnumMap<>(Priority.class);
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+    private long blockedUntilNanos;
+
+    private final Map<Priority, LongAdder> dispatched = new EnumMap<>(Priority.class);
+    private final Map<Priority, LongAdder> shed = new EnumMap<>(Priority.class);
+    private final LongAdder waitedRequests = new LongAdder();
+    private final LongAdder totalQueueWaitMillis = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder retriedAfterRateLimit = new LongAdder();
+    private final LongAdder totalRetryAfterMillis = new LongAdder();
+    private final AtomicLong maxQueueDepth = new AtomicLong();
+
+    public SpotifyRequestScheduler(@Value("${spotify.scheduler.rate-per-second:10}") double ratePerSecond,
+                                   @Value("${spotify.scheduler.burst:20}") int burst,
+                                   @Value("${spotify.scheduler.max-queue:200}") int maxQueue,
+                                   @Value("${spotify.scheduler.interactive-timeout-ms:3000}") long interactiveTimeoutMillis) {
+        this.permitsPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.tokens = burst;
+        this.maxQueue = maxQueue;
+        this.interactiveTimeoutMillis = interactiveTimeoutMillis;
+        for (Priority priority : Priority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+            dispatched.put(priority, new LongAdder());
+            shed.put(priority, new LongAdder());
+        }
+    }
+
+    // 사용자가 기다리는 호출 (재생 제어 등): 기본 대기 시간 안에서 실행
+    public <T> T interactive(Callable<T> call) throws Exception {
+        return execute(Priority.INTERACTIVE, call,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(interactiveTimeoutMillis));
+    }
+
+    /**
+     * 차례가 오면 call 을 실행 (deadlineNanos 는 System.nanoTime 기준)
+     * 429 를 받으면 Retry-After 만큼 전체 호출을 멈추고, 마감 시간 안이면 한 번 더 시도
+     */
+    public <T> T execute(Priority priority, Callable<T> call, long deadlineNanos) throws Exception {
+        boolean retried = false;
+        while (true) {
+            acquire(priority, deadlineNanos);
+            try {
+                return call.call();
+            } catch (HttpClientErrorException.TooManyRequests e) {
+                long retryAfterNanos = TimeUnit.MILLISECONDS.toNanos(retryAfterMillis(e.getResponseHeaders()));
+                onRateLimited(retryAfterNanos);
+                if (retried || System.nanoTime() + retryAfterNanos >= deadlineNanos) {
+                    throw e;
+                }
+                retried = true;
+                retriedAfterRateLimit.increment();
+            }
+        }
+    }
+
+    // Retry-After 대기 중이거나 추천용 대기열이 반 이상 찼으면 true (추가 검색을 보내지 않는 기준)
+    public boolean isThrottled() {
+        lock.lock();
+        try {
+            return System.nanoTime() < blockedUntilNanos || queues.get(Priority.BACKGROUND).size() >= maxQueue / 2;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Priority priority : Priority.values()) {
+            String tag = priority.name().toLowerCase();
+            Gauge.builder("moody.spotify.scheduler.queued", this, scheduler -> scheduler.queued(priority))
+                    .description("차례를 기다리는 Spotify 호출 수")
+                    .tag("priority", tag)
+                    .register(registry);
+            FunctionCounter.builder("moody.spotify.scheduler.dispatched", dispatched.get(priority), LongAdder::sum)
+                    .description("토큰을 얻어 내보낸 Spotify 호출 수")
+                    .tag("priority", tag)
+                    .register(registry);
+            FunctionCounter.builder("moody.spotify.scheduler.shed", shed.get(priority), LongAdder::sum)
+                    .description("대기열이 가득 찼거나 마감 시간이 지나 버린 Spotify 호출 수")
+                    .tag("priority", tag)
+                    .register(registry);
+        }
+        Gauge.builder("moody.spotify.scheduler.queued.max", maxQueueDepth, AtomicLong::get)
+                .description("지금까지 가장 길었던 대기열 길이")
+                .register(registry);
+        Gauge.builder("moody.spotify.scheduler.tokens", this, SpotifyRequestScheduler::availableTokens)
+                .description("지금 바로 쓸 수 있는 토큰 수")
+                .register(registry);
+        TimeGauge.builder("moody.spotify.scheduler.blocked", this, TimeUnit.MILLISECONDS,
+                        SpotifyRequestScheduler::blockedForMillis)
+                .description("429 Retry-After 로 호출을 멈추고 남은 시간")
+                .register(registry);
+        Gauge.builder("moody.spotify.scheduler.throttled", this, scheduler -> scheduler.isThrottled() ? 1 : 0)
+                .description("추가 검색을 보내지 않는 상태면 1")
+                .register(registry);
+        FunctionCounter.builder("moody.spotify.scheduler.rate_limited", rateLimited, LongAdder::sum)
+                .description("Spotify 429 응답 수")
+                .register(registry);
+        FunctionCounter.builder("moody.spotify.scheduler.retried", retriedAfterRateLimit, LongAdder::sum)
+                .description("429 응답 후 다시 보낸 호출 수")
+                .register(registry);
+        FunctionCounter.builder("moody.spotify.scheduler.paused", totalRetryAfterMillis, adder -> adder.sum() / 1000.0)
+                .description("429 Retry-After 로 호출을 멈춘 시간 합계")
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionTimer.builder("moody.spotify.scheduler.queue.wait", this,
+                        scheduler -> scheduler.waitedRequests.sum(),
+                        scheduler -> scheduler.totalQueueWaitMillis.sum(), TimeUnit.MILLISECONDS)
+                .description("차례를 기다린 호출의 대기 시간")
+                .register(registry);
+    }
+
+    private int queued(Priority priority) {
+        lock.lock();
+        try {
+            return queues.get(priority).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double availableTokens() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            return Math.floor(tokens);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double blockedForMillis() {
+        lock.lock();
+        try {
+            return Math.max(0, TimeUnit.NANOSECONDS.toMillis(blockedUntilNanos - System.nanoTime()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire(Priority priority, long deadlineNanos) throws InterruptedException, TimeoutException {
+        Object ticket = new Object();
+        long start = System.nanoTime();
+        boolean waited = false;
+        lock.lock();
+        try {
+            ArrayDeque<Object> queue = queues.get(priority);
+            if (queue.size() >= maxQueue) {
+                shed.get(priority).increment();
+                throw new TimeoutException("Spotify 호출 대기열이 가득 찼습니다.");
+            }
+            queue.addLast(ticket);
+            maxQueueDepth.accumulateAndGet(totalQueued(), Math::max);
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    refill(now);
+                    if (isNext(priority, ticket) && now >= blockedUntilNanos && tokens >= 1) {
+                        tokens -= 1;
+                        queue.removeFirst();
+                        dispatched.get(priority).increment();
+                        if (waited) {
+                            waitedRequests.increment();
+                            totalQueueWaitMillis.add(TimeUnit.NANOSECONDS.toMillis(now - start));
+                        }
+                        changed.signalAll();
+                        return;
+                    }
+                    if (now >= deadlineNanos) {
+                        queue.remove(ticket);
+                        shed.get(priority).increment();
+                        changed.signalAll();
+                        throw new TimeoutException("Spotify 호출 차례를 마감 시간 안에 얻지 못했습니다.");
+                    }
+                    // 다음 토큰이 생기거나 Retry-After 가 끝날 때까지 대기 (앞 순서가 빠지면 signal 로 깨어남)
+                    long untilToken = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / permitsPerNano);
+                    long wait = Math.max(untilToken, blockedUntilNanos - now);
+                    wait = Math.min(Math.max(wait, TimeUnit.MILLISECONDS.toNanos(1)), deadlineNanos - now);
+                    waited = true;
+                    changed.awaitNanos(wait);
+                }
+            } catch (InterruptedException e) {
+                queue.remove(ticket);
+                changed.signalAll();
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 우선순위가 높은 대기열에 요청이 남아 있으면 낮은 우선순위는 기다림
+    private boolean isNext(Priority priority, Object ticket) {
+        for (Priority higher : Priority.values()) {
+            if (higher == priority) {
+                return queues.get(priority).peekFirst() == ticket;
+            }
+            if (!queues.get(higher).isEmpty()) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private int totalQueued() {
+        int total = 0;
+        for (ArrayDeque<Object> queue : queues.values()) {
+            total += queue.size();
+        }
+        return total;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = now;
+    }
+
+    private void onRateLimited(long retryAfterNanos) {
+        rateLimited.increment();
+        totalRetryAfterMillis.add(TimeUnit.NANOSECONDS.toMillis(retryAfterNanos));
+        lock.lock();
+        try {
+            blockedUntilNanos = Math.max(blockedUntilNanos, System.nanoTime() + retryAfterNanos);
+            // 멈춘 뒤에 한꺼번에 몰리지 않도록 쌓인 토큰도 비움
+            tokens = 0;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        log.warn("Spotify 429 응답: {}ms 동안 호출 중단", TimeUnit.NANOSECONDS.toMillis(retryAfterNanos));
+    }
+
+    // Retry-After 는 초 단위 (없거나 읽을 수 없으면 기본값)
+    static long retryAfterMillis(HttpHeaders headers) {
+        String retryAfter = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return DEFAULT_RETRY_AFTER_MILLIS;
+        }
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.trim())) * 1000L;
+        } catch (NumberFormatException e) {
+            return DEFAULT_RETRY_AFTER_MILLIS;
+        }
+    }
+}
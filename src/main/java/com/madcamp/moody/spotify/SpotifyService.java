@@ -1,8 +1,11 @@
 package com.madcamp.moody.spotify;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -18,20 +21,24 @@ import java.util.stream.Stream;
 import java.util.Collections;
 import org.springframework.beans.factory.annotation.Autowired;
 import com.madcamp.moody.music.MusicRegion;
+import com.madcamp.moody.config.RecommendationMetrics;
 import java.util.ArrayList;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.Callable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 
 import com.madcamp.moody.user.User;
-import com.madcamp.moody.user.UserRepository;
+import com.madcamp.moody.user.UserLookupService;
 
 @Service
 public class SpotifyService {
+
+    private static final Logger log = LoggerFactory.getLogger(SpotifyService.class);
     
     @Value("${spotify.client.id}")
     private String clientId;
@@ -52,16 +59,27 @@ public class SpotifyService {
     private String playlistTracksUrlTemplate;
     
     private final RestTemplate restTemplate;
-    private String accessToken;
-    private long tokenExpiryTime;
+    private final SpotifyFanout spotifyFanout;
+    private final PlaylistTrackCache playlistTrackCache;
+    private final SpotifyTokenManager spotifyTokenManager;
+    private final SpotifyRequestScheduler requestScheduler;
+    private final RecommendationMetrics metrics;
     
     @Autowired
-    public SpotifyService(RestTemplate restTemplate) {
+    public SpotifyService(RestTemplate restTemplate, SpotifyFanout spotifyFanout, PlaylistTrackCache playlistTrackCache,
+                          SpotifyTokenManager spotifyTokenManager, SpotifyRequestScheduler requestScheduler,
+                          RecommendationMetrics metrics) {
         this.restTemplate = restTemplate;
+        this.spotifyFanout = spotifyFanout;
+        this.playlistTrackCache = playlistTrackCache;
+        this.spotifyTokenManager = spotifyTokenManager;
+        this.requestScheduler = requestScheduler;
+        this.metrics = metrics;
+        spotifyTokenManager.register(SpotifyTokenManager.CLIENT_CREDENTIALS, this::requestClientCredentialsToken);
     }
 
     @Autowired
-    private UserRepository userRepository;
+    private UserLookupService userLookupService;
 
     /**
      * 현재 로그인된 사용자의 Spotify 액세스 토큰을 반환
@@ -77,7 +95,7 @@ public class SpotifyService {
             String spotifyDisplayName = oauth2User.getAttribute("display_name");
             if (spotifyDisplayName != null) {
                 String spotifyId = oauth2User.getAttribute("id");
-                User user = userRepository.findBySpotifyOauthId(spotifyId);
+                User user = userLookupService.findBySpotifyOauthId(spotifyId);
                 if (user != null && user.getSpotifyAccessToken() != null) {
                     return user.getSpotifyAccessToken();
                 }
@@ -100,17 +118,16 @@ public class SpotifyService {
     public boolean startSpotifyPlayback(String deviceId) {
         String accessToken = getCurrentUserSpotifyAccessToken();
         if (accessToken == null) {
-            System.err.println("Spotify 액세스 토큰이 없습니다");
+            log.warn("Spotify 액세스 토큰이 없습니다");
             return false;
         }
 
         try {
-            System.out.println("=== Spotify 재생 시작 요청 ===");
-            System.out.println("Device ID: " + deviceId);
+            log.debug("Spotify 재생 시작 요청: deviceId={}", deviceId);
             
             // 사용 가능한 디바이스 확인
             if (!checkAvailableDevices(accessToken, deviceId)) {
-                System.err.println("사용 가능한 디바이스가 없거나 지정된 디바이스를 찾을 수 없습니다.");
+                log.warn("사용 가능한 디바이스가 없거나 지정된 디바이스를 찾을 수 없습니다. deviceId={}", deviceId);
                 return false;
             }
             
@@ -122,12 +139,11 @@ public class SpotifyService {
             headers.set("Content-Type", "application/json");
             
             HttpEntity<String> entity = new HttpEntity<>(headers);
-            System.out.println("최근 재생 곡 조회 중...");
             
-            ResponseEntity<Map> recentResponse = restTemplate.exchange(
-                recentlyPlayedUrl, HttpMethod.GET, entity, Map.class);
+            ResponseEntity<Map> recentResponse = requestScheduler.interactive(() -> restTemplate.exchange(
+                recentlyPlayedUrl, HttpMethod.GET, entity, Map.class));
             
-            System.out.println("최근 재생 곡 조회 응답: " + recentResponse.getStatusCode());
+            log.debug("최근 재생 곡 조회 응답: {}", recentResponse.getStatusCode());
 
             String trackUri = null;
             if (recentResponse.getStatusCode().is2xxSuccessful() && recentResponse.getBody() != null) {
@@ -137,7 +153,7 @@ public class SpotifyService {
                 if (items != null && !items.isEmpty()) {
                     Map<String, Object> track = (Map<String, Object>) items.get(0).get("track");
                     trackUri = (String) track.get("uri");
-                    System.out.println("최근 재생한 곡 발견: " + trackUri);
+                    log.debug("최근 재생한 곡 발견: {}", trackUri);
                 }
             }
 
@@ -147,39 +163,35 @@ public class SpotifyService {
                 playUrl += "?device_id=" + deviceId;
             }
             
-            System.out.println("재생 요청 URL: " + playUrl);
+            log.debug("재생 요청 URL: {}", playUrl);
 
             Map<String, Object> playData = new HashMap<>();
             if (trackUri != null) {
                 // 최근 재생한 곡이 있으면 그것을 재생
                 playData.put("uris", List.of(trackUri));
-                System.out.println("재생할 곡 URI: " + trackUri);
+                log.debug("재생할 곡 URI: {}", trackUri);
             } else {
-                System.out.println("최근 재생한 곡이 없어서 빈 요청으로 진행");
+                log.debug("최근 재생한 곡이 없어서 빈 요청으로 진행");
             }
 
             HttpEntity<Map<String, Object>> playEntity = new HttpEntity<>(playData, headers);
-            System.out.println("재생 요청 전송 중...");
             
-            ResponseEntity<String> playResponse = restTemplate.exchange(
-                playUrl, HttpMethod.PUT, playEntity, String.class);
+            final String finalPlayUrl = playUrl;
+            ResponseEntity<String> playResponse = requestScheduler.interactive(() -> restTemplate.exchange(
+                finalPlayUrl, HttpMethod.PUT, playEntity, String.class));
 
-            System.out.println("재생 요청 응답 상태: " + playResponse.getStatusCode());
-            System.out.println("재생 요청 응답 본문: " + playResponse.getBody());
+            log.debug("재생 요청 응답: {} {}", playResponse.getStatusCode(), playResponse.getBody());
             
             boolean success = playResponse.getStatusCode().is2xxSuccessful();
-            System.out.println("Spotify 재생 시작 결과: " + success);
+            log.info("Spotify 재생 시작 결과: {}", success);
             return success;
 
         } catch (org.springframework.web.client.HttpClientErrorException e) {
-            System.err.println("Spotify API HTTP 오류: " + e.getStatusCode());
-            System.err.println("오류 응답 본문: " + e.getResponseBodyAsString());
-            System.err.println("요청한 URL이나 권한에 문제가 있을 수 있습니다.");
+            log.warn("Spotify API HTTP 오류: {} {} (요청한 URL이나 권한에 문제가 있을 수 있습니다)",
+                    e.getStatusCode(), e.getResponseBodyAsString());
             return false;
         } catch (Exception e) {
-            System.err.println("Spotify 재생 시작 오류: " + e.getMessage());
-            System.err.println("오류 타입: " + e.getClass().getSimpleName());
-            e.printStackTrace();
+            log.error("Spotify 재생 시작 오류", e);
             return false;
         }
     }
@@ -196,17 +208,17 @@ public class SpotifyService {
             headers.set("Content-Type", "application/json");
             
             HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<Map> devicesResponse = restTemplate.exchange(
-                devicesUrl, HttpMethod.GET, entity, Map.class);
+            ResponseEntity<Map> devicesResponse = requestScheduler.interactive(() -> restTemplate.exchange(
+                devicesUrl, HttpMethod.GET, entity, Map.class));
             
             if (devicesResponse.getStatusCode().is2xxSuccessful() && devicesResponse.getBody() != null) {
                 Map<String, Object> devicesData = devicesResponse.getBody();
                 List<Map<String, Object>> devices = (List<Map<String, Object>>) devicesData.get("devices");
                 
-                System.out.println("사용 가능한 디바이스 수: " + (devices != null ? devices.size() : 0));
+                log.debug("사용 가능한 디바이스 수: {}", devices != null ? devices.size() : 0);
                 
                 if (devices == null || devices.isEmpty()) {
-                    System.err.println("활성화된 Spotify 디바이스가 없습니다. Spotify 앱을 열어주세요.");
+                    log.warn("활성화된 Spotify 디바이스가 없습니다. Spotify 앱을 열어주세요.");
                     return false;
                 }
                 
@@ -216,7 +228,7 @@ public class SpotifyService {
                     String name = (String) device.get("name");
                     String type = (String) device.get("type");
                     Boolean isActive = (Boolean) device.get("is_active");
-                    System.out.println("디바이스: " + name + " (ID: " + id + ", 타입: " + type + ", 활성: " + isActive + ")");
+                    log.debug("디바이스: {} (ID: {}, 타입: {}, 활성: {})", name, id, type, isActive);
                 }
                 
                 // 지정된 디바이스 ID가 있으면 확인
@@ -224,19 +236,19 @@ public class SpotifyService {
                     boolean deviceFound = devices.stream()
                         .anyMatch(device -> targetDeviceId.equals(device.get("id")));
                     if (!deviceFound) {
-                        System.err.println("지정된 디바이스 ID를 찾을 수 없습니다: " + targetDeviceId);
+                        log.warn("지정된 디바이스 ID를 찾을 수 없습니다: {}", targetDeviceId);
                         return false;
                     }
                 }
                 
                 return true;
             } else {
-                System.err.println("디바이스 조회 실패: " + devicesResponse.getStatusCode());
+                log.warn("디바이스 조회 실패: {}", devicesResponse.getStatusCode());
                 return false;
             }
             
         } catch (Exception e) {
-            System.err.println("디바이스 확인 오류: " + e.getMessage());
+            log.warn("디바이스 확인 오류: {}", e.getMessage());
             return false;
         }
     }
@@ -261,30 +273,32 @@ public class SpotifyService {
             headers.set("Content-Type", "application/json");
 
             HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<String> response = restTemplate.exchange(
-                url, HttpMethod.PUT, entity, String.class);
+            final String finalUrl = url;
+            ResponseEntity<String> response = requestScheduler.interactive(() -> restTemplate.exchange(
+                finalUrl, HttpMethod.PUT, entity, String.class));
 
             boolean success = response.getStatusCode().is2xxSuccessful();
-            System.out.println("Spotify " + action + " 결과: " + success);
+            log.info("Spotify {} 결과: {}", action, success);
             return success;
 
         } catch (Exception e) {
-            System.err.println("Spotify " + action + " 오류: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Spotify {} 오류", action, e);
             return false;
         }
     }
     
     private String getAccessToken() {
-        // 토큰이 유효하면 기존 토큰 반환
-        if (accessToken != null && System.currentTimeMillis() < tokenExpiryTime) {
-            System.out.println("기존 토큰 사용 중...");
-            return accessToken;
-        }
-        
-        System.out.println("새로운 Spotify 토큰 요청 중...");
-        System.out.println("Client ID: " + clientId);
-        System.out.println("Token URL: " + tokenUrl);
+        // 유효한 토큰이 있으면 그대로, 없으면 한 번만 발급 요청 (동시 요청은 그 결과를 공유)
+        return spotifyTokenManager.getToken(SpotifyTokenManager.CLIENT_CREDENTIALS);
+    }
+
+    // 401 을 받은 토큰은 버려서 다음 요청에서 새로 발급받게 함
+    private void rejectAccessToken(String accessToken) {
+        spotifyTokenManager.invalidate(SpotifyTokenManager.CLIENT_CREDENTIALS, accessToken);
+    }
+
+    private SpotifyTokenManager.Token requestClientCredentialsToken() {
+        log.info("새로운 Spotify 토큰 요청 중... (tokenUrl={})", tokenUrl);
         
         try {
             // Client Credentials Flow
@@ -299,7 +313,6 @@ public class SpotifyService {
             
             HttpEntity<MultiValueMap<String, String>> entity = new HttpEntity<>(body, headers);
             
-            System.out.println("토큰 요청 전송 중...");
             ResponseEntity<SpotifyDTO.TokenResponse> response = restTemplate.exchange(
                 tokenUrl,
                 HttpMethod.POST,
@@ -307,34 +320,39 @@ public class SpotifyService {
                 SpotifyDTO.TokenResponse.class
             );
             
-            System.out.println("토큰 응답 상태: " + response.getStatusCode());
+            log.debug("토큰 응답 상태: {}", response.getStatusCode());
             
             if (response.getBody() != null) {
-                accessToken = response.getBody().getAccessToken();
-                // 만료 시간을 현재 시간 + expires_in - 60초 (여유분)로 설정
-                tokenExpiryTime = System.currentTimeMillis() + (response.getBody().getExpiresIn() - 60) * 1000L;
-                System.out.println("토큰 획득 성공!");
-                return accessToken;
+                // 실제 만료 시각을 저장 (여유분은 SpotifyTokenManager 에서 적용)
+                long expiresAt = System.currentTimeMillis() + response.getBody().getExpiresIn() * 1000L;
+                log.info("Spotify 토큰 획득 성공");
+                return new SpotifyTokenManager.Token(response.getBody().getAccessToken(), expiresAt);
             } else {
-                System.err.println("토큰 응답 body가 null입니다.");
+                log.warn("토큰 응답 body가 null입니다.");
             }
         } catch (Exception e) {
-            System.err.println("Spotify 토큰 획득 오류: " + e.getMessage());
-            e.printStackTrace();
-            System.err.println("Client ID: " + clientId);
-            System.err.println("Client Secret: " + (clientSecret != null ? clientSecret.substring(0, 4) + "****" : "null"));
-            System.err.println("Token URL: " + tokenUrl);
+            // 클라이언트 시크릿은 일부라도 로그에 남기지 않음
+            log.error("Spotify 토큰 획득 오류 (clientId={}, tokenUrl={})", clientId, tokenUrl, e);
         }
         
         return null;
     }
 
+    // Spotify 429 대기 중이거나 호출 대기열이 밀려 있으면 true (추가 검색을 보내지 않음)
+    public boolean isRateLimited() {
+        return requestScheduler.isThrottled();
+    }
+
     // 장르와 키워드로 플레이리스트 검색 후, 해당 플레이리스트의 트랙들을 가져오는 로직
     public SpotifyDTO.MusicRecommendation recommendMusicViaPlaylistSearch(List<String> genres, List<String> keywords, MusicRegion region) {
+        return metrics.stage("spotify.recommend", null, region, () -> searchAndSelectTracks(genres, keywords, region));
+    }
+
+    private SpotifyDTO.MusicRecommendation searchAndSelectTracks(List<String> genres, List<String> keywords, MusicRegion region) {
         try {
             String accessToken = getAccessToken();
             if (accessToken == null) {
-                System.err.println("Spotify 액세스 토큰을 획득할 수 없습니다.");
+                log.warn("Spotify 액세스 토큰을 획득할 수 없습니다.");
                 return new SpotifyDTO.MusicRecommendation(Collections.emptyList());
             }
 
@@ -360,45 +378,75 @@ public class SpotifyService {
                     break;
             }
 
-            // 국내 음악 검색
+            // 국내/해외 마켓의 모든 장르 검색을 동시에 실행
+            List<String> markets = new ArrayList<>();
+            if (domesticTarget > 0) markets.add("KR");
+            if (internationalTarget > 0) markets.add("US");
+            Map<String, List<SpotifyDTO.MusicRecommendation.RecommendedTrack>> tracksByMarket =
+                searchTracksForMarkets(accessToken, markets, genres, keywordString, region);
+
+            // 국내 음악 선택
             if (domesticTarget > 0) {
-                List<SpotifyDTO.MusicRecommendation.RecommendedTrack> domesticTracks = 
-                    searchAndSelectTracksForMarket(accessToken, "KR", genres, keywordString, usedArtists, domesticTarget);
+                int target = domesticTarget;
+                List<SpotifyDTO.MusicRecommendation.RecommendedTrack> domesticTracks = metrics.stage("spotify.bucket_fill", "KR", region,
+                    () -> selectTracksForMarket("KR", tracksByMarket.get("KR"), usedArtists, target));
                 finalTracks.addAll(domesticTracks);
             }
 
-            // 해외 음악 검색
+            // 해외 음악 선택
             if (internationalTarget > 0) {
-                List<SpotifyDTO.MusicRecommendation.RecommendedTrack> internationalTracks = 
-                    searchAndSelectTracksForMarket(accessToken, "US", genres, keywordString, usedArtists, internationalTarget);
+                int target = internationalTarget;
+                List<SpotifyDTO.MusicRecommendation.RecommendedTrack> internationalTracks = metrics.stage("spotify.bucket_fill", "US", region,
+                    () -> selectTracksForMarket("US", tracksByMarket.get("US"), usedArtists, target));
                 finalTracks.addAll(internationalTracks);
             }
 
-            System.out.println("최종 추천된 트랙 수: " + finalTracks.size());
-            System.out.println("사용된 아티스트 수: " + usedArtists.size());
+            log.info("최종 추천된 트랙 수: {}, 사용된 아티스트 수: {}", finalTracks.size(), usedArtists.size());
             return new SpotifyDTO.MusicRecommendation(finalTracks);
 
         } catch (Exception e) {
-            System.err.println("Spotify 플레이리스트 기반 추천 오류: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Spotify 플레이리스트 기반 추천 오류", e);
             return new SpotifyDTO.MusicRecommendation(Collections.emptyList());
         }
     }
 
-    private List<SpotifyDTO.MusicRecommendation.RecommendedTrack> searchAndSelectTracksForMarket(
-        String accessToken, String market, List<String> genres, String keywordString, Set<String> usedArtists, int totalTarget) {
+    // 마켓 x 장르 조합의 플레이리스트 검색을 한 번에 fan-out 하고, 마켓별로 트랙을 모음
+    private Map<String, List<SpotifyDTO.MusicRecommendation.RecommendedTrack>> searchTracksForMarkets(
+        String accessToken, List<String> markets, List<String> genres, String keywordString, MusicRegion region) {
 
-        List<SpotifyDTO.MusicRecommendation.RecommendedTrack> allTracksFromMarket = new ArrayList<>();
-        
-        // 1. 마켓에 해당하는 모든 장르의 트랙을 수집
-        for (String genre : genres) {
-            try {
+        long deadline = spotifyFanout.newDeadline();
+        List<Callable<List<MarketTrack>>> tasks = new ArrayList<>();
+        for (String market : markets) {
+            for (String genre : genres) {
                 String searchQuery = genre + " " + keywordString;
-                allTracksFromMarket.addAll(searchPlaylistForGenre(accessToken, searchQuery, market));
-            } catch (Exception e) {
-                System.err.println(genre + " 장르(" + market + ") 검색 중 오류: " + e.getMessage());
+                tasks.add(() -> {
+                    try {
+                        return searchPlaylistForGenre(accessToken, searchQuery, market, region, deadline).stream()
+                            .map(track -> new MarketTrack(market, track))
+                            .collect(Collectors.toList());
+                    } catch (Exception e) {
+                        log.warn("{} 장르({}) 검색 중 오류: {}", genre, market, e.getMessage());
+                        return Collections.emptyList();
+                    }
+                });
             }
         }
+
+        Map<String, List<SpotifyDTO.MusicRecommendation.RecommendedTrack>> tracksByMarket = new HashMap<>();
+        for (String market : markets) {
+            tracksByMarket.put(market, new ArrayList<>());
+        }
+        for (MarketTrack marketTrack : spotifyFanout.collect(tasks, deadline)) {
+            tracksByMarket.get(marketTrack.market()).add(marketTrack.track());
+        }
+        return tracksByMarket;
+    }
+
+    // 인기도 구간별(2:5:3)로 아티스트가 겹치지 않게 선택 (순수 CPU 단계라 src/jmh 벤치마크에서 직접 호출)
+    static List<SpotifyDTO.MusicRecommendation.RecommendedTrack> selectTracksForMarket(
+        String market, List<SpotifyDTO.MusicRecommendation.RecommendedTrack> allTracksFromMarket, Set<String> usedArtists, int totalTarget) {
+
+        // 1. 마켓에 해당하는 모든 장르의 트랙을 섞음
         Collections.shuffle(allTracksFromMarket);
 
         // 2. 인기도에 따라 3개 그룹으로 분류
@@ -437,61 +485,27 @@ public class SpotifyService {
             fillFromBucket(finalMarketTracks, fallbackPool, totalTarget - finalMarketTracks.size(), usedArtists);
         }
 
-        System.out.println("마켓(" + market + ") 최종 선택된 곡 수: " + finalMarketTracks.size());
+        log.debug("마켓({}) 최종 선택된 곡 수: {}", market, finalMarketTracks.size());
         return finalMarketTracks;
     }
 
-    private void fillFromBucket(List<SpotifyDTO.MusicRecommendation.RecommendedTrack> targetList, 
+    static void fillFromBucket(List<SpotifyDTO.MusicRecommendation.RecommendedTrack> targetList, 
                                 List<SpotifyDTO.MusicRecommendation.RecommendedTrack> sourceBucket, 
                                 int count, Set<String> usedArtists) {
         int added = 0;
         for (SpotifyDTO.MusicRecommendation.RecommendedTrack track : sourceBucket) {
             if (added >= count) break;
 
-            String primaryArtist = track.getArtist().split(",|ft\\.|feat\\.|&")[0].trim().toLowerCase();
-            if (usedArtists.add(primaryArtist)) {
+            if (usedArtists.add(ArtistKey.of(track.getArtist()))) {
                 targetList.add(track);
                 added++;
             }
         }
     }
 
-
-    // 중복 아티스트 없이 트랙 선택
-    private List<SpotifyDTO.MusicRecommendation.RecommendedTrack> selectTracksWithoutDuplicateArtists(
-            List<SpotifyDTO.MusicRecommendation.RecommendedTrack> tracks, 
-            Set<String> usedArtists, 
-            int targetCount) {
-        
-        List<SpotifyDTO.MusicRecommendation.RecommendedTrack> selectedTracks = new ArrayList<>();
-        
-        // 트랙을 섞어서 다양성 증대
-        Collections.shuffle(tracks);
-        
-        for (SpotifyDTO.MusicRecommendation.RecommendedTrack track : tracks) {
-            if (selectedTracks.size() >= targetCount) {
-                break; // 목표 곡 수 달성
-            }
-            
-            // 아티스트 이름을 정규화 (소문자, 공백 제거)
-            String normalizedArtist = track.getArtist().toLowerCase().replaceAll("\\s+", "");
-            
-            // 중복 아티스트 체크
-            if (!usedArtists.contains(normalizedArtist)) {
-                selectedTracks.add(track);
-                usedArtists.add(normalizedArtist);
-                System.out.println("선택된 트랙: " + track.getTitle() + " - " + track.getArtist());
-            } else {
-                System.out.println("중복 아티스트로 제외: " + track.getTitle() + " - " + track.getArtist());
-            }
-        }
-        
-        return selectedTracks;
-    }
-
     // 특정 장르와 키워드로 플레이리스트 검색하여 트랙 반환
     private List<SpotifyDTO.MusicRecommendation.RecommendedTrack> searchPlaylistForGenre(
-            String accessToken, String searchQuery, String market) throws Exception {
+            String accessToken, String searchQuery, String market, MusicRegion region, long deadline) throws Exception {
         
         // 플레이리스트 검색
         UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(searchUrl)
@@ -508,8 +522,17 @@ public class SpotifyService {
         searchHeaders.setBearerAuth(accessToken);
         HttpEntity<String> searchEntity = new HttpEntity<>(searchHeaders);
 
-        ResponseEntity<SpotifyDTO.PlaylistSearchResponse> searchResponse = restTemplate.exchange(
-            playlistSearchUrl, HttpMethod.GET, searchEntity, SpotifyDTO.PlaylistSearchResponse.class);
+        // 대기열/동시 호출 제한 대기 시간까지 포함해 기록
+        ResponseEntity<SpotifyDTO.PlaylistSearchResponse> searchResponse;
+        try {
+            searchResponse = metrics.stageChecked("spotify.search", market, region,
+                () -> requestScheduler.execute(SpotifyRequestScheduler.Priority.BACKGROUND,
+                    () -> spotifyFanout.throttled(() -> restTemplate.exchange(
+                        playlistSearchUrl, HttpMethod.GET, searchEntity, SpotifyDTO.PlaylistSearchResponse.class), deadline), deadline));
+        } catch (HttpClientErrorException.Unauthorized e) {
+            rejectAccessToken(accessToken);
+            throw e;
+        }
 
         if (searchResponse.getBody() == null || 
             searchResponse.getBody().getPlaylists() == null ||
@@ -517,53 +540,81 @@ public class SpotifyService {
             return Collections.emptyList();
         }
 
-        List<SpotifyDTO.MusicRecommendation.RecommendedTrack> tracks = new ArrayList<>();
-
-        // 각 플레이리스트에서 몇 곡씩 가져오기
+        // 각 플레이리스트에서 몇 곡씩 가져오기 (플레이리스트별 조회를 동시에 실행)
+        List<Callable<List<SpotifyDTO.MusicRecommendation.RecommendedTrack>>> tasks = new ArrayList<>();
         for (SpotifyDTO.SimplifiedPlaylist playlist : searchResponse.getBody().getPlaylists().getItems()) {
             if (playlist == null || playlist.getId() == null) continue;
+            tasks.add(() -> metrics.stage("spotify.playlist_tracks", market, region,
+                () -> fetchPlaylistTracks(playlist.getId(), playlist.getSnapshotId(), accessToken, searchEntity, deadline)));
+        }
 
-            try {
-                String tracksUrl = playlistTracksUrlTemplate.replace("{playlist_id}", playlist.getId());
-                tracksUrl = UriComponentsBuilder.fromHttpUrl(tracksUrl)
-                    .queryParam("limit", 8) // 각 플레이리스트당 더 많은 곡 수집
-                    .build().toUriString();
-
-                ResponseEntity<SpotifyDTO.PlaylistTracksResponse> tracksResponse = restTemplate.exchange(
-                    tracksUrl, HttpMethod.GET, searchEntity, SpotifyDTO.PlaylistTracksResponse.class);
-
-                if (tracksResponse.getBody() != null && tracksResponse.getBody().getItems() != null) {
-                    List<SpotifyDTO.MusicRecommendation.RecommendedTrack> playlistTracks = 
-                        tracksResponse.getBody().getItems().stream()
-                            .filter(item -> item != null && item.getTrack() != null)
-                            .map(item -> item.getTrack())
-                            .filter(track -> track != null && track.getName() != null && 
-                                   track.getArtists() != null && !track.getArtists().isEmpty())
-                            .map(track -> new SpotifyDTO.MusicRecommendation.RecommendedTrack(
-                                track.getName(),
-                                track.getArtists().stream()
-                                    .filter(artist -> artist != null && artist.getName() != null)
-                                    .map(SpotifyDTO.Artist::getName)
-                                    .collect(Collectors.joining(", ")),
-                                track.getExternalUrls() != null ? track.getExternalUrls().getSpotify() : "",
-                                track.getPreviewUrl(),
-                                track.getId(),
-                                track.getPopularity()
-                            ))
-                            .collect(Collectors.toList());
+        return spotifyFanout.collect(tasks, deadline);
+    }
 
-                    tracks.addAll(playlistTracks);
-                }
-            } catch (Exception e) {
-                System.err.println("플레이리스트 트랙 가져오기 실패: " + e.getMessage());
-            }
+    private List<SpotifyDTO.MusicRecommendation.RecommendedTrack> fetchPlaylistTracks(
+            String playlistId, String snapshotId, String accessToken, HttpEntity<String> entity, long deadline) {
+        // 캐시에 있고 아직 유효하거나(snapshot_id 동일 포함) 하면 Spotify 호출 없이 반환
+        List<SpotifyDTO.MusicRecommendation.RecommendedTrack> cachedTracks = playlistTrackCache.get(playlistId, snapshotId);
+        if (cachedTracks != null) {
+            return cachedTracks;
         }
 
-        return tracks;
+        try {
+            String tracksUrl = playlistTracksUrlTemplate.replace("{playlist_id}", playlistId);
+            String limitedTracksUrl = UriComponentsBuilder.fromHttpUrl(tracksUrl)
+                .queryParam("limit", 8) // 각 플레이리스트당 더 많은 곡 수집
+                .build().toUriString();
+
+            // 이전에 받은 ETag 가 있으면 조건부 요청
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(entity.getHeaders());
+            String etag = playlistTrackCache.etag(playlistId);
+            if (etag != null) {
+                headers.setIfNoneMatch(etag);
+            }
+            HttpEntity<String> tracksEntity = new HttpEntity<>(headers);
+
+            ResponseEntity<SpotifyDTO.PlaylistTracksResponse> tracksResponse = requestScheduler.execute(SpotifyRequestScheduler.Priority.BACKGROUND,
+                () -> spotifyFanout.throttled(() -> restTemplate.exchange(
+                    limitedTracksUrl, HttpMethod.GET, tracksEntity, SpotifyDTO.PlaylistTracksResponse.class), deadline), deadline);
+
+            if (tracksResponse.getStatusCode().value() == 304) {
+                List<SpotifyDTO.MusicRecommendation.RecommendedTrack> notModifiedTracks = playlistTrackCache.notModified(playlistId, snapshotId);
+                return notModifiedTracks != null ? notModifiedTracks : Collections.emptyList();
+            }
+
+            if (tracksResponse.getBody() != null && tracksResponse.getBody().getItems() != null) {
+                List<SpotifyDTO.MusicRecommendation.RecommendedTrack> playlistTracks = tracksResponse.getBody().getItems().stream()
+                    .filter(item -> item != null && item.getTrack() != null)
+                    .map(item -> item.getTrack())
+                    .filter(track -> track != null && track.getName() != null && 
+                           track.getArtists() != null && !track.getArtists().isEmpty())
+                    .map(track -> new SpotifyDTO.MusicRecommendation.RecommendedTrack(
+                        track.getName(),
+                        track.getArtists().stream()
+                            .filter(artist -> artist != null && artist.getName() != null)
+                            .map(SpotifyDTO.Artist::getName)
+                            .collect(Collectors.joining(", ")),
+                        track.getExternalUrls() != null ? track.getExternalUrls().getSpotify() : "",
+                        track.getPreviewUrl(),
+                        track.getId(),
+                        track.getPopularity()
+                    ))
+                    .collect(Collectors.toList());
+
+                playlistTrackCache.put(playlistId, snapshotId, tracksResponse.getHeaders().getETag(), playlistTracks);
+                return playlistTracks;
+            }
+        } catch (HttpClientErrorException.Unauthorized e) {
+            rejectAccessToken(accessToken);
+            log.warn("플레이리스트 트랙 가져오기 실패 (토큰 거절): {}", e.getMessage());
+        } catch (Exception e) {
+            log.warn("플레이리스트 트랙 가져오기 실패: {}", e.getMessage());
+        }
+        return Collections.emptyList();
     }
 
-    private List<SpotifyDTO.MusicRecommendation.RecommendedTrack> searchPlaylistForGenre(
-            String accessToken, String searchQuery) throws Exception {
-        return searchPlaylistForGenre(accessToken, searchQuery, null);
+    // 검색 결과 트랙과 해당 트랙을 찾은 마켓
+    private record MarketTrack(String market, SpotifyDTO.MusicRecommendation.RecommendedTrack track) {
     }
-} 
\ No newline at end of file
+} 
@@ -0,0 +1,221 @@
+package com.madcamp.moody.spotify;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Spotify 액세스 토큰 관리
+ * - 토큰이 만료되면 동시에 들어온 요청들 중 하나만 발급 요청을 보내고, 나머지는 그 결과를 기다림
+ * - 만료 전에 백그라운드에서 미리 갱신
+ * - 키별로 토큰을 관리하므로 client credentials 토큰 외에 사용자별 토큰에도 사용할 수 있음
+ */
+@Component
+public class SpotifyTokenManager implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SpotifyTokenManager.class);
+
+    public static final String CLIENT_CREDENTIALS = "client_credentials";
+
+    // 만료 직전 토큰은 사용하지 않음 (기존 로직의 60초 여유분)
+    private static final long EXPIRY_SAFETY_MILLIS = 60_000L;
+
+    private final long refreshAheadMillis;
+    private final long waitTimeoutMillis;
+    private final Map<String, TokenHolder> holders = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "spotify-token-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder proactiveRefreshes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dedupedWaits = new LongAdder();
+    private final LongAdder totalRefreshMillis = new LongAdder();
+    private final AtomicLong lastRefreshMillis = new AtomicLong();
+
+    public SpotifyTokenManager(@Value("${spotify.token.refresh-ahead-seconds:300}") long refreshAheadSeconds,
+                               @Value("${spotify.token.wait-timeout-ms:10000}") long waitTimeoutMillis) {
+        this.refreshAheadMillis = refreshAheadSeconds * 1000L;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    public record Token(String value, long expiresAt) {
+    }
+
+    /**
+     * key 에 쓸 토큰 발급 방법을 등록 (key 당 한 번만)
+     */
+    public void register(String key, Callable<Token> fetcher) {
+        TokenHolder existing = holders.putIfAbsent(key, new TokenHolder(key, fetcher));
+        if (existing != null) {
+            throw new IllegalStateException("이미 등록된 Spotify 토큰입니다: " + key);
+        }
+    }
+
+    /**
+     * 유효한 토큰을 반환 (필요하면 등록된 fetcher 로 새로 발급), 발급에 실패하면 null
+     */
+    public String getToken(String key) {
+        TokenHolder holder = holders.get(key);
+        if (holder == null) {
+            throw new IllegalArgumentException("등록되지 않은 Spotify 토큰입니다: " + key);
+        }
+        Token token = holder.current;
+        if (token != null && System.currentTimeMillis() < token.expiresAt() - EXPIRY_SAFETY_MILLIS) {
+            return token.value();
+        }
+        try {
+            Token refreshed = holder.refresh(false).get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            return refreshed.value();
+        } catch (Exception e) {
+            log.warn("Spotify 토큰({}) 발급 실패: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Spotify 가 401 로 거절한 토큰을 버림 (다음 getToken 에서 새로 발급)
+     * 동시에 여러 요청이 401 을 받아도 이미 새로 받은 토큰은 버리지 않도록 거절된 값과 같을 때만 버림
+     */
+    public void invalidate(String key, String rejectedToken) {
+        TokenHolder holder = holders.get(key);
+        if (holder != null) {
+            holder.invalidate(rejectedToken);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("moody.spotify.token.holders", holders, Map::size)
+                .description("관리 중인 토큰 수")
+                .register(registry);
+        FunctionTimer.builder("moody.spotify.token.refresh", this,
+                        manager -> manager.refreshes.sum(), manager -> manager.totalRefreshMillis.sum(),
+                        TimeUnit.MILLISECONDS)
+                .description("토큰 발급 요청 (실패 포함)")
+                .register(registry);
+        TimeGauge.builder("moody.spotify.token.refresh.last", lastRefreshMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("마지막 토큰 발급에 걸린 시간")
+                .register(registry);
+        FunctionCounter.builder("moody.spotify.token.refresh.proactive", proactiveRefreshes, LongAdder::sum)
+                .description("만료 전에 백그라운드에서 갱신한 수")
+                .register(registry);
+        FunctionCounter.builder("moody.spotify.token.refresh.failures", failures, LongAdder::sum)
+                .description("토큰 발급 실패 수")
+                .register(registry);
+        FunctionCounter.builder("moody.spotify.token.deduped_waits", dedupedWaits, LongAdder::sum)
+                .description("진행 중인 발급 결과를 기다린 요청 수 (중복 발급 요청을 보내지 않음)")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private class TokenHolder {
+        private final String key;
+        private final Callable<Token> fetcher;
+        private volatile Token current;
+        private CompletableFuture<Token> inFlight;
+        private ScheduledFuture<?> scheduledRefresh;
+
+        TokenHolder(String key, Callable<Token> fetcher) {
+            this.key = key;
+            this.fetcher = fetcher;
+        }
+
+        CompletableFuture<Token> refresh(boolean proactive) {
+            CompletableFuture<Token> future;
+            boolean owner = false;
+            synchronized (this) {
+                if (inFlight == null) {
+                    inFlight = new CompletableFuture<>();
+                    owner = true;
+                } else {
+                    dedupedWaits.increment();
+                }
+                future = inFlight;
+            }
+            if (!owner) {
+                return future;
+            }
+
+            long start = System.nanoTime();
+            try {
+                Token token = fetcher.call();
+                if (token == null || token.value() == null) {
+                    throw new IllegalStateException("토큰 응답이 비어 있습니다.");
+                }
+                current = token;
+                scheduleProactiveRefresh(token);
+                future.complete(token);
+            } catch (Exception e) {
+                failures.increment();
+                future.completeExceptionally(e);
+            } finally {
+                long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                refreshes.increment();
+                if (proactive) {
+                    proactiveRefreshes.increment();
+                }
+                totalRefreshMillis.add(elapsedMillis);
+                lastRefreshMillis.set(elapsedMillis);
+                synchronized (this) {
+                    inFlight = null;
+                }
+            }
+            return future;
+        }
+
+        // 만료 refreshAhead 전(토큰 수명의 절반을 넘지 않게)에 백그라운드 갱신 예약
+        private synchronized void scheduleProactiveRefresh(Token token) {
+            cancelScheduledRefresh();
+            long now = System.currentTimeMillis();
+            long lifetime = token.expiresAt() - now;
+            long delay = lifetime - Math.min(refreshAheadMillis, lifetime / 2);
+            if (delay <= 0 || scheduler.isShutdown()) {
+                return;
+            }
+            scheduledRefresh = scheduler.schedule(() -> refresh(true), delay, TimeUnit.MILLISECONDS);
+        }
+
+        synchronized void invalidate(String rejectedToken) {
+            Token token = current;
+            if (token != null && token.value().equals(rejectedToken)) {
+                log.info("Spotify 토큰({})이 거절되어 버림", key);
+                current = null;
+                cancelScheduledRefresh();
+            }
+        }
+
+        private synchronized void cancelScheduledRefresh() {
+            if (scheduledRefresh != null) {
+                scheduledRefresh.cancel(false);
+                scheduledRefresh = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.madcamp.moody.user;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 파라미터에 로그인한 사용자의 User 엔티티를 주입 (로그인하지 않았거나 DB 에 없으면 null)
+ * 조회 결과는 UserLookupService 캐시를 거치며, 한 요청 안에서는 한 번만 조회
+ * 주입되는 User 는 요청마다 새로 만든 분리된(detached) 복사본이므로 수정/저장하지 말 것
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+
+    // principal 의 id 속성을 어느 컬럼과 비교할지
+    Lookup value() default Lookup.OAUTH_ID;
+
+    enum Lookup {
+        // user.oauth_id
+        OAUTH_ID,
+        // user.spotify_oauth_id (Spotify 로그인 principal 일 때만, 아니면 null)
+        SPOTIFY_OAUTH_ID
+    }
+}
@@ -0,0 +1,73 @@
+package com.madcamp.moody.user;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * @CurrentUser User 파라미터 처리
+ * 요청 속성에 조회 결과를 보관해 같은 요청 안에서 다시 조회하지 않음 (WebConfig 에서 등록)
+ * 조회 기준(oauth_id / spotify_oauth_id)은 컨트롤러가 직접 조회하던 방식을 그대로 따름
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String REQUEST_ATTRIBUTE = CurrentUserArgumentResolver.class.getName() + ".USER";
+
+    private final UserLookupService userLookupService;
+
+    public CurrentUserArgumentResolver(UserLookupService userLookupService) {
+        this.userLookupService = userLookupService;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && User.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        CurrentUser.Lookup lookup = parameter.getParameterAnnotation(CurrentUser.class).value();
+        String attribute = REQUEST_ATTRIBUTE + "." + lookup.name();
+        Object resolved = webRequest.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST);
+        if (resolved instanceof User user) {
+            userLookupService.recordRequestScopedHit();
+            return user;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof OAuth2User oauth2User)) {
+            return null;
+        }
+
+        User user = find(oauth2User, lookup);
+        if (user != null) {
+            webRequest.setAttribute(attribute, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    private User find(OAuth2User oauth2User, CurrentUser.Lookup lookup) {
+        Object idAttribute = oauth2User.getAttribute("id");
+        if (idAttribute == null) {
+            return null;
+        }
+        String id = String.valueOf(idAttribute);
+        return switch (lookup) {
+            case OAUTH_ID -> userLookupService.findByOauthId(id);
+            // Spotify 사용자인지 확인 (display_name 속성이 있으면 Spotify)
+            case SPOTIFY_OAUTH_ID -> oauth2User.getAttribute("display_name") != null
+                    ? userLookupService.findBySpotifyOauthId(id)
+                    : null;
+        };
+    }
+}
@@ -1,5 +1,7 @@
 package com.madcamp.moody.user;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.user.OAuth2User;
@@ -14,9 +16,14 @@ import java.util.List;
 @Service
 public class SpotifyOAuth2UserService extends DefaultOAuth2UserService {
 
+    private static final Logger log = LoggerFactory.getLogger(SpotifyOAuth2UserService.class);
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserLookupService userLookupService;
+
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) {
         try {
@@ -30,10 +37,7 @@ public class SpotifyOAuth2UserService extends DefaultOAuth2UserService {
             String accessToken = userRequest.getAccessToken().getTokenValue();
             String refreshToken = null; // 필요시 확장
 
-            System.out.println("=== Spotify OAuth2 사용자 정보 ===");
-            System.out.println("Spotify ID: " + spotifyId);
-            System.out.println("Display Name: " + displayName);
-            System.out.println("Email: " + email);
+            log.debug("Spotify OAuth2 사용자 정보: id={}, displayName={}", spotifyId, displayName);
 
             // 본인 계정만 업데이트 (모든 유저 for문 삭제)
             User user = userRepository.findByOauthId(spotifyId);
@@ -52,7 +56,9 @@ public class SpotifyOAuth2UserService extends DefaultOAuth2UserService {
                 user.setSpotifyRefreshToken(refreshToken);
             }
             userRepository.save(user);
-            System.out.println("Spotify 정보가 user_id=" + user.getId() + "에 연동 완료");
+            // 새 액세스 토큰이 저장되었으므로 캐시된 사용자 정보는 버림
+            userLookupService.invalidate(user);
+            log.info("Spotify 정보가 user_id={}에 연동 완료", user.getId());
 
             // 기존 user로 계속 서비스 이용 (리다이렉트는 SuccessHandler에서 처리)
             return new DefaultOAuth2User(
@@ -61,8 +67,7 @@ public class SpotifyOAuth2UserService extends DefaultOAuth2UserService {
                 "id"
             );
         } catch (Exception e) {
-            System.err.println("Spotify OAuth2 처리 중 오류: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Spotify OAuth2 처리 중 오류", e);
             throw e;
         }
     }
@@ -10,7 +10,11 @@ import java.util.List;
 import java.util.ArrayList;
 
 @Entity
-@Table(name = "user")
+@Table(name = "user", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_user_oauth_id", columnNames = "oauth_id")
+}, indexes = {
+    @Index(name = "idx_user_spotify_oauth_id", columnList = "spotify_oauth_id")
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -0,0 +1,174 @@
+package com.madcamp.moody.user;
+
+import com.madcamp.moody.config.CacheMetrics;
+import com.madcamp.moody.music.MusicRegion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * OAuth ID -> User 조회 캐시
+ * - 요청마다 user 테이블을 다시 읽지 않도록 항목 수 제한(LRU) + TTL 로 보관
+ * - 캐시에는 변경할 수 없는 Snapshot 을 두고, 조회할 때마다 새 User 를 만들어 반환 (요청 스레드끼리 같은 객체를 공유하지 않음)
+ * - 반환되는 User 는 영속성 컨텍스트와 분리된(detached) 복사본이므로 읽기/연관관계 지정 용도로만 사용
+ *   (save 하면 캐시 시점의 값으로 덮어쓰게 되므로, 수정이 필요하면 UserRepository 로 다시 조회하고 저장 후 invalidate 호출)
+ * - 존재하지 않는 사용자(null)는 캐시하지 않음 (가입 직후 바로 조회되도록)
+ */
+@Service
+public class UserLookupService implements MeterBinder {
+
+    private static final String OAUTH_KEY = "oauth:";
+    private static final String SPOTIFY_KEY = "spotify:";
+
+    private final UserRepository userRepository;
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder requestScopedHits = new LongAdder();
+    private final LongAdder dbLookups = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    public UserLookupService(UserRepository userRepository,
+                             @Value("${user.lookup-cache.max-entries:10000}") int maxEntries,
+                             @Value("${user.lookup-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > UserLookupService.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    private record Entry(Snapshot snapshot, long expiresAt) {
+    }
+
+    // user 행의 값 (캐시 안에서는 변경되지 않음)
+    private record Snapshot(Long id, String name, String email, String oauthId, MusicRegion musicRegion,
+                            String musicGenres, boolean onboardingCompleted, String spotifyOauthId,
+                            String spotifyEmail, String spotifyAccessToken, String spotifyRefreshToken,
+                            String spotifyDisplayName, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static Snapshot of(User user) {
+            return new Snapshot(user.getId(), user.getName(), user.getEmail(), user.getOauthId(), user.getMusicRegion(),
+                    user.getMusicGenres(), user.isOnboardingCompleted(), user.getSpotifyOauthId(),
+                    user.getSpotifyEmail(), user.getSpotifyAccessToken(), user.getSpotifyRefreshToken(),
+                    user.getSpotifyDisplayName(), user.getCreatedAt(), user.getUpdatedAt());
+        }
+
+        User toUser() {
+            User user = new User(id, name, email, oauthId, musicRegion, musicGenres, onboardingCompleted,
+                    spotifyOauthId, spotifyEmail, spotifyAccessToken, spotifyRefreshToken, spotifyDisplayName);
+            user.setCreatedAt(createdAt);
+            user.setUpdatedAt(updatedAt);
+            return user;
+        }
+    }
+
+    public User findByOauthId(String oauthId) {
+        if (oauthId == null) {
+            return null;
+        }
+        return lookup(OAUTH_KEY + oauthId, () -> userRepository.findByOauthId(oauthId));
+    }
+
+    public User findBySpotifyOauthId(String spotifyOauthId) {
+        if (spotifyOauthId == null) {
+            return null;
+        }
+        return lookup(SPOTIFY_KEY + spotifyOauthId, () -> userRepository.findBySpotifyOauthId(spotifyOauthId));
+    }
+
+    // 사용자 정보가 바뀐 경우 (온보딩, Spotify 토큰 갱신 등) - 트랜잭션 안이면 커밋 후 제거
+    public void invalidate(User user) {
+        if (user == null) {
+            return;
+        }
+        Runnable removal = () -> {
+            synchronized (entries) {
+                if (user.getOauthId() != null) {
+                    entries.remove(OAUTH_KEY + user.getOauthId());
+                }
+                if (user.getSpotifyOauthId() != null) {
+                    entries.remove(SPOTIFY_KEY + user.getSpotifyOauthId());
+                }
+            }
+            invalidations.increment();
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removal.run();
+                }
+            });
+        } else {
+            removal.run();
+        }
+    }
+
+    // CurrentUserArgumentResolver 가 같은 요청 안에서 이미 조회한 User 를 재사용한 경우
+    void recordRequestScopedHit() {
+        requestScopedHits.increment();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // DB 조회(dbLookups)가 곧 캐시 미스
+        CacheMetrics.bind(registry, "user-lookup", this, UserLookupService::size, hits, dbLookups, evictions);
+        CacheMetrics.bindEvent(registry, "user-lookup", "request_scoped_hits", requestScopedHits,
+                "같은 요청 안에서 이미 조회한 User 를 재사용한 수");
+        CacheMetrics.bindEvent(registry, "user-lookup", "invalidations", invalidations, "사용자 정보 변경으로 제거한 수");
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private User lookup(String key, Supplier<User> loader) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() > System.currentTimeMillis()) {
+                    hits.increment();
+                    return entry.snapshot().toUser();
+                }
+                entries.remove(key);
+            }
+        }
+
+        dbLookups.increment();
+        User user = loader.get();
+        if (user == null) {
+            return null;
+        }
+        Snapshot snapshot = Snapshot.of(user);
+        synchronized (entries) {
+            entries.put(key, new Entry(snapshot, System.currentTimeMillis() + ttlMillis));
+        }
+        // 리포지토리가 돌려준 엔티티 대신 복사본을 반환 (호출한 쪽의 영속성 컨텍스트 상태와 관계없이 동일하게 동작)
+        return snapshot.toUser();
+    }
+}
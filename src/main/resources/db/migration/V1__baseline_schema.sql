@@ -0,0 +1,62 @@
+-- =====================================================================
+-- V1: 기본 스키마 (엔티티 매핑 기준)
+-- =====================================================================
+-- 이미 운영 중인 DB 에는 테이블이 있으므로 모두 IF NOT EXISTS 로 작성
+-- (FlywayConfig 에서 baselineVersion=0 으로 설정해 기존 DB 에서도 이 스크립트부터 실행됨)
+
+CREATE TABLE IF NOT EXISTS user (
+    user_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255),
+    email VARCHAR(255),
+    oauth_id VARCHAR(255) NOT NULL,
+    music_region VARCHAR(32),
+    music_genres TEXT,
+    onboarding_completed BOOLEAN NOT NULL DEFAULT FALSE,
+    spotify_oauth_id VARCHAR(255),
+    spotify_email VARCHAR(255),
+    spotify_access_token TEXT,
+    spotify_refresh_token TEXT,
+    spotify_display_name VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS mood (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    mood_type VARCHAR(32),
+    date DATE,
+    user_id BIGINT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    CONSTRAINT fk_mood_user FOREIGN KEY (user_id) REFERENCES user (user_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS diary (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT,
+    content TEXT,
+    mood_id BIGINT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    CONSTRAINT fk_diary_user FOREIGN KEY (user_id) REFERENCES user (user_id),
+    CONSTRAINT fk_diary_mood FOREIGN KEY (mood_id) REFERENCES mood (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS playlist (
+    playlist_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    diary_id BIGINT NOT NULL,
+    date DATE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_diary_id (diary_id),
+    INDEX idx_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS music (
+    music_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    music_url VARCHAR(255) NOT NULL,
+    playlist_id BIGINT NOT NULL,
+    user_id BIGINT,
+    CONSTRAINT fk_music_playlist FOREIGN KEY (playlist_id) REFERENCES playlist (playlist_id),
+    CONSTRAINT fk_music_user FOREIGN KEY (user_id) REFERENCES user (user_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,17 @@
+-- =====================================================================
+-- V2: music.track_id 컬럼 (music-track-id-migration.sql 을 이미 실행한 DB 에서는 건너뜀)
+-- =====================================================================
+
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.COLUMNS
+      WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'music' AND COLUMN_NAME = 'track_id') = 0,
+    'ALTER TABLE music ADD COLUMN track_id VARCHAR(64) NULL',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- "https://open.spotify.com/track/TRACK_ID?si=..." 형식의 URL 에서 track_id 추출
+UPDATE music
+SET track_id = SUBSTRING_INDEX(SUBSTRING_INDEX(music_url, '?', 1), '/', -1)
+WHERE track_id IS NULL;
@@ -0,0 +1,79 @@
+-- =====================================================================
+-- V3: 자주 조회하는 컬럼 인덱스
+-- =====================================================================
+-- 이미 같은 이름(또는 같은 앞 컬럼)의 인덱스가 있으면 건너뜀 (spotify-migration.sql, music-track-id-migration.sql,
+-- Hibernate ddl-auto 로 먼저 만들어진 경우)
+-- ⚠️ uk_user_oauth_id 는 UNIQUE 이므로 oauth_id 가 중복된 사용자가 있으면 실패함
+--    (check-user-table.sql 로 확인 후 중복 행을 정리하고 다시 실행)
+
+-- 로그인 사용자 조회 (UserRepository.findByOauthId)
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.STATISTICS
+      WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'user' AND INDEX_NAME = 'uk_user_oauth_id') = 0,
+    'ALTER TABLE user ADD CONSTRAINT uk_user_oauth_id UNIQUE (oauth_id)',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- UserRepository.findBySpotifyOauthId
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.STATISTICS
+      WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'user' AND INDEX_NAME = 'idx_user_spotify_oauth_id') = 0,
+    'CREATE INDEX idx_user_spotify_oauth_id ON user (spotify_oauth_id)',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- MoodRepository.findByUserAndDate / findByUserAndDateBetween / 월간 요약
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.STATISTICS
+      WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'mood' AND INDEX_NAME = 'idx_mood_user_date') = 0,
+    'CREATE INDEX idx_mood_user_date ON mood (user_id, date)',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- DiaryRepository.findByMood / 월간 요약의 mood-diary 조인
+-- (외래 키 때문에 mood_id 로 시작하는 인덱스가 이미 있으면 건너뜀)
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.STATISTICS
+      WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'diary' AND COLUMN_NAME = 'mood_id' AND SEQ_IN_INDEX = 1) = 0,
+    'CREATE INDEX idx_diary_mood_id ON diary (mood_id)',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- PlaylistRepository.findByDiaryIdAndDate / deleteByDiaryIdAndDate / 월간 요약
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.STATISTICS
+      WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'playlist' AND INDEX_NAME = 'idx_playlist_diary_date') = 0,
+    'CREATE INDEX idx_playlist_diary_date ON playlist (diary_id, date)',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- MusicRepository.findByPlaylistId... / deleteByPlaylistId / 곡 수 집계
+-- (외래 키 때문에 playlist_id 로 시작하는 인덱스가 이미 있으면 건너뜀)
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.STATISTICS
+      WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'music' AND COLUMN_NAME = 'playlist_id' AND SEQ_IN_INDEX = 1) = 0,
+    'CREATE INDEX idx_music_playlist_id ON music (playlist_id)',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- MusicRepository.findByUserId / findTrackIdsByUserId (user_id 단독 조회도 이 인덱스의 앞 컬럼으로 처리)
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.STATISTICS
+      WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'music' AND INDEX_NAME = 'idx_music_user_track') = 0,
+    'CREATE INDEX idx_music_user_track ON music (user_id, track_id)',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
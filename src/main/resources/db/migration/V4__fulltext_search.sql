@@ -0,0 +1,26 @@
+-- =====================================================================
+-- V4: 플레이리스트 제목 / 일기 본문 전문 검색 인덱스 (SearchRepository)
+-- =====================================================================
+-- ngram parser: 공백으로 단어를 나누지 않는 한국어도 ngram_token_size(기본 2) 글자 단위로 색인
+-- 인덱스는 InnoDB 가 INSERT/UPDATE/DELETE 와 같은 트랜잭션에서 갱신하므로 애플리케이션에서 따로 동기화하지 않음
+-- ⚠️ 기존 데이터가 많으면 인덱스 생성 중 테이블을 다시 만들므로 시간이 걸림 (트래픽이 적을 때 배포)
+
+-- SearchRepository.searchPlaylists
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.STATISTICS
+      WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'playlist' AND INDEX_NAME = 'ft_playlist_title') = 0,
+    'ALTER TABLE playlist ADD FULLTEXT INDEX ft_playlist_title (title) WITH PARSER ngram',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- SearchRepository.searchDiaries
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.STATISTICS
+      WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'diary' AND INDEX_NAME = 'ft_diary_content') = 0,
+    'ALTER TABLE diary ADD FULLTEXT INDEX ft_diary_content (content) WITH PARSER ngram',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
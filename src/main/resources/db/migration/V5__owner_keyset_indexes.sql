@@ -0,0 +1,41 @@
+-- =====================================================================
+-- V5: 사용자별 keyset 페이지 인덱스 (/page, /export)
+-- =====================================================================
+-- music 은 user_id 로 페이지를 나누므로, user_id 없이 저장된 예전 행은 플레이리스트 주인(diary_id)으로 채움
+-- (이후 저장되는 music 은 MusicService 가 항상 플레이리스트 주인을 user 로 설정)
+-- ⚠️ 채워진 곡은 해당 사용자의 추천 이력(MusicRepository.findTrackIdsByUserId)에도 포함됨
+UPDATE music m
+JOIN playlist p ON p.playlist_id = m.playlist_id
+JOIN user u ON u.user_id = p.diary_id
+SET m.user_id = p.diary_id
+WHERE m.user_id IS NULL;
+
+-- PlaylistRepository.findPageByDiaryIdAfter (diary_id = ? AND playlist_id > ? ORDER BY playlist_id)
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.STATISTICS
+      WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'playlist' AND INDEX_NAME = 'idx_playlist_diary_playlist') = 0,
+    'CREATE INDEX idx_playlist_diary_playlist ON playlist (diary_id, playlist_id)',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- V1 의 idx_diary_id (diary_id) 는 위 인덱스와 idx_playlist_diary_date 의 앞 컬럼과 같으므로 제거
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.STATISTICS
+      WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'playlist' AND INDEX_NAME = 'idx_diary_id') > 0,
+    'DROP INDEX idx_diary_id ON playlist',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- MusicRepository.findPageByUserIdAfter (user_id = ? AND music_id > ? ORDER BY music_id)
+SET @ddl := IF(
+    (SELECT COUNT(*) FROM information_schema.STATISTICS
+      WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'music' AND INDEX_NAME = 'idx_music_user_music') = 0,
+    'CREATE INDEX idx_music_user_music ON music (user_id, music_id)',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
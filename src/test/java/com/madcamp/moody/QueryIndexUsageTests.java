@@ -0,0 +1,250 @@
+package com.madcamp.moody;
+
+import com.madcamp.moody.diary.DiaryRepository;
+import com.madcamp.moody.mood.Mood;
+import com.madcamp.moody.mood.MoodRepository;
+import com.madcamp.moody.music.MusicRepository;
+import com.madcamp.moody.playlist.PlaylistRepository;
+import com.madcamp.moody.search.SearchRepository;
+import com.madcamp.moody.user.User;
+import com.madcamp.moody.user.UserRepository;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Flyway 마이그레이션을 적용한 MySQL 에서 자주 쓰는 리포지토리 쿼리의 EXPLAIN 결과를 확인
+ * 리포지토리를 실제로 호출해 Hibernate 가 만든 SQL 을 그대로 EXPLAIN (네이티브 SQL 은 SearchRepository 상수 사용)
+ * (Docker 가 없는 환경에서는 건너뜀)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QueryIndexUsageTests {
+
+    private static final LocalDate JUNE_1 = LocalDate.of(2025, 6, 1);
+    private static final LocalDate JUNE_15 = LocalDate.of(2025, 6, 15);
+    private static final LocalDate JUNE_30 = LocalDate.of(2025, 6, 30);
+
+    @Container
+    static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static final SqlCapture capturedSql = new SqlCapture();
+
+    // 스키마는 @BeforeAll 에서 Flyway 로 만들고 Hibernate 는 검사/생성하지 않음
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.datasource.driver-class-name", mysql::getDriverClassName);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MoodRepository moodRepository;
+
+    @Autowired
+    private DiaryRepository diaryRepository;
+
+    @Autowired
+    private PlaylistRepository playlistRepository;
+
+    @Autowired
+    private MusicRepository musicRepository;
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword())
+                .load()
+                .migrate();
+
+        // 데이터가 없으면 옵티마이저가 인덱스를 고르지 않을 수 있으므로 사용자 50명 x 30일 분량을 넣음
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            for (int user = 1; user <= 50; user++) {
+                statement.addBatch("INSERT INTO user (user_id, oauth_id, spotify_oauth_id, onboarding_completed) " +
+                        "VALUES (" + user + ", 'oauth" + user + "', 'oauth" + user + "', TRUE)");
+                for (int day = 1; day <= 30; day++) {
+                    long id = user * 100L + day;
+                    String date = String.format("'2025-06-%02d'", day);
+                    statement.addBatch("INSERT INTO mood (id, mood_type, date, user_id) VALUES (" + id + ", 'HAPPY', " + date + ", " + user + ")");
+                    statement.addBatch("INSERT INTO diary (id, user_id, content, mood_id) VALUES (" + id + ", " + user + ", 'diary', " + id + ")");
+                    statement.addBatch("INSERT INTO playlist (playlist_id, title, diary_id, date) VALUES (" + id + ", 'playlist', " + user + ", " + date + ")");
+                    for (int track = 0; track < 3; track++) {
+                        statement.addBatch("INSERT INTO music (music_url, playlist_id, user_id, track_id) VALUES " +
+                                "('https://open.spotify.com/track/t" + id + "_" + track + "', " + id + ", " + user + ", 't" + id + "_" + track + "')");
+                    }
+                }
+            }
+            statement.executeBatch();
+            statement.execute("ANALYZE TABLE user, mood, diary, playlist, music");
+        }
+    }
+
+    @Test
+    void userLookupsUseIndexes() throws SQLException {
+        assertUsesIndex(sqlOf(() -> userRepository.findByOauthId("oauth7")), "uk_user_oauth_id", "oauth7");
+        assertUsesIndex(sqlOf(() -> userRepository.findBySpotifyOauthId("oauth7")), "idx_user_spotify_oauth_id", "oauth7");
+    }
+
+    @Test
+    void moodAndDiaryLookupsUseIndexes() throws SQLException {
+        User user = userRepository.getReferenceById(7L);
+        Mood mood = moodRepository.getReferenceById(715L);
+        assertUsesIndex(sqlOf(() -> moodRepository.findByUserAndDate(user, JUNE_15)), "idx_mood_user_date", 7L, JUNE_15);
+        assertUsesIndex(sqlOf(() -> moodRepository.findByUserAndDateBetween(user, JUNE_1, JUNE_30)),
+                "idx_mood_user_date", 7L, JUNE_1, JUNE_30);
+        assertUsesIndex(sqlOf(() -> diaryRepository.findByMood(mood)), null, 715L);
+    }
+
+    @Test
+    void playlistAndMusicLookupsUseIndexes() throws SQLException {
+        assertUsesIndex(sqlOf(() -> playlistRepository.findByDiaryIdAndDate(7L, JUNE_15)), "idx_playlist_diary_date", 7L, JUNE_15);
+        assertUsesIndex(sqlOf(() -> musicRepository.findByPlaylistIdOrderByMusicIdAsc(715L)), null, 715L);
+        assertUsesIndex(sqlOf(() -> musicRepository.findTrackIdsByUserId(7L)), "idx_music_user_track", 7L);
+        // 테스트 트랜잭션은 롤백되므로 seed 데이터는 지워지지 않음
+        assertUsesIndex(sqlOf(() -> musicRepository.deleteByPlaylistDiaryIdAndDate(7L, JUNE_15)), null, 7L, JUNE_15);
+    }
+
+    // 사용자별 keyset 페이지 (/page, /export): 인덱스 순서대로 읽어 정렬 없이 LIMIT 만큼만 읽음
+    @Test
+    void ownerKeysetPagesUseCompositeIndexes() throws SQLException {
+        assertKeysetPage(sqlOf(() -> playlistRepository.findPageByDiaryIdAfter(7L, 710L, Limit.of(500))),
+                "idx_playlist_diary_playlist", 7L, 710L, 500);
+        assertKeysetPage(sqlOf(() -> musicRepository.findPageByUserIdAfter(7L, 0L, Limit.of(500))),
+                "idx_music_user_music", 7L, 0L, 500);
+    }
+
+    // SearchRepository 가 실제로 보내는 SQL 과 파라미터 (SearchService.toBooleanQuery 형식의 검색식)
+    @Test
+    void fullTextSearchUsesNgramIndexes() throws SQLException {
+        assertUsesIndex(SearchRepository.PLAYLIST_SQL, "ft_playlist_title", "+\"play\"", "+\"play\"", 7L, 21, 0);
+        assertUsesIndex(SearchRepository.DIARY_SQL, "ft_diary_content", "+\"diary\"", "+\"diary\"", 7L, 21, 20);
+    }
+
+    @Test
+    void monthSummaryQueriesUseIndexes() throws SQLException {
+        assertUsesIndex(sqlOf(() -> moodRepository.findMonthWithDiaries(7L, JUNE_1, JUNE_30)), null, 7L, JUNE_1, JUNE_30);
+        assertUsesIndex(sqlOf(() -> playlistRepository.findSummariesByDiaryIdAndDateBetween(7L, JUNE_1, JUNE_30)),
+                null, 7L, JUNE_1, JUNE_30);
+    }
+
+    // call 이 보낸 첫 번째 SQL (엔티티 조회 뒤의 추가 SELECT 는 제외)
+    private static String sqlOf(Runnable call) {
+        capturedSql.clear();
+        call.run();
+        List<String> statements = capturedSql.statements();
+        assertTrue(!statements.isEmpty(), "실행된 SQL 이 없음");
+        return statements.get(0);
+    }
+
+    // EXPLAIN 의 모든 행이 인덱스를 사용하는지 확인 (expectedIndex 가 있으면 첫 번째 테이블의 인덱스 이름까지 확인)
+    // <subquery2> 처럼 MySQL 이 내부적으로 만든 임시 테이블 행은 제외
+    // params 는 ? 자리에 순서대로 넣는 값 (Hibernate 가 바인딩하는 순서와 같게)
+    private static void assertUsesIndex(String sql, String expectedIndex, Object... params) throws SQLException {
+        List<ExplainRow> rows = explain(sql, params);
+        assertTrue(!rows.isEmpty(), "EXPLAIN 결과가 없음: " + sql);
+        for (ExplainRow row : rows) {
+            assertNotNull(row.key(), "인덱스를 사용하지 않음 (table=" + row.table() + ", type=" + row.type() + "): " + sql);
+        }
+        if (expectedIndex != null) {
+            assertEquals(expectedIndex, rows.get(0).key(), sql);
+        }
+    }
+
+    // keyset 페이지는 인덱스 순서 그대로 읽어야 하므로 filesort 가 없어야 함
+    private static void assertKeysetPage(String sql, String expectedIndex, Object... params) throws SQLException {
+        assertUsesIndex(sql, expectedIndex, params);
+        for (ExplainRow row : explain(sql, params)) {
+            assertTrue(row.extra() == null || !row.extra().contains("filesort"), "정렬(filesort)이 필요함: " + sql);
+        }
+    }
+
+    private static List<ExplainRow> explain(String sql, Object... params) throws SQLException {
+        assertEquals(params.length, sql.chars().filter(c -> c == '?').count(), "파라미터 수가 SQL 과 다름: " + sql);
+        List<ExplainRow> rows = new ArrayList<>();
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    String table = rs.getString("table");
+                    if (table == null || table.startsWith("<")) {
+                        continue;
+                    }
+                    rows.add(new ExplainRow(table, rs.getString("key"), rs.getString("type"), rs.getString("Extra")));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+    }
+
+    private record ExplainRow(String table, String key, String type, String extra) {
+    }
+
+    // Hibernate 가 준비하는 SQL 을 그대로 모음
+    static class SqlCapture implements StatementInspector {
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        List<String> statements() {
+            return List.copyOf(statements);
+        }
+
+        void clear() {
+            statements.clear();
+        }
+    }
+
+    @TestConfiguration
+    static class SqlCaptureConfig {
+        @Bean
+        HibernatePropertiesCustomizer sqlCapture() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, capturedSql);
+        }
+    }
+}
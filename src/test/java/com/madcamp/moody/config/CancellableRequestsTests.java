@@ -0,0 +1,100 @@
+package com.madcamp.moody.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 응답을 기다리는 HttpClient 요청을 Scope.cancel() 로 끊으면 read timeout 전에 커넥션이 풀로 돌아오는지 확인
+ */
+class CancellableRequestsTests {
+
+    private final CountDownLatch requestReceived = new CountDownLatch(1);
+    private HttpServer server;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // 응답을 30초 동안 보내지 않는 서버
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/slow", exchange -> {
+            requestReceived.countDown();
+            try {
+                Thread.sleep(30_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        HttpClientConfig config = new HttpClientConfig();
+        ReflectionTestUtils.setField(config, "maxTotal", 10);
+        ReflectionTestUtils.setField(config, "defaultMaxPerRoute", 5);
+        ReflectionTestUtils.setField(config, "connectTimeoutMs", 1_000L);
+        ReflectionTestUtils.setField(config, "readTimeoutMs", 30_000L);
+        ReflectionTestUtils.setField(config, "poolWaitTimeoutMs", 1_000L);
+        connectionManager = config.httpConnectionManager();
+        httpClient = config.outboundHttpClient(connectionManager);
+        restTemplate = new RestTemplate(config.clientHttpRequestFactory(httpClient));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void cancelAbortsBlockedReadAndReleasesConnection() throws Exception {
+        CancellableRequests.Scope scope = new CancellableRequests.Scope();
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/slow";
+        CompletableFuture<String> response = CompletableFuture.supplyAsync(() -> {
+            try {
+                return scope.call(() -> restTemplate.getForObject(url, String.class));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(requestReceived.await(5, TimeUnit.SECONDS));
+        assertEquals(1, connectionManager.getTotalStats().getLeased());
+
+        long start = System.nanoTime();
+        scope.cancel();
+
+        assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000);
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+    }
+
+    @Test
+    void requestStartedAfterCancelIsAbortedImmediately() {
+        CancellableRequests.Scope scope = new CancellableRequests.Scope();
+        scope.cancel();
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/slow";
+
+        long start = System.nanoTime();
+        assertThrows(Exception.class, () -> scope.call(() -> restTemplate.getForObject(url, String.class)));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000);
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+    }
+}
@@ -0,0 +1,60 @@
+package com.madcamp.moody.groq;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 분석 캐시 파일에 일기 원문이 남지 않는지, 해시 키로 다시 읽어오는지 확인
+ */
+class GroqAnalysisCacheTests {
+
+    private static final String DIARY = "오늘은 비가 와서 조금 우울했다";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void diskTierStoresOnlyHashedKeys() throws Exception {
+        Path file = dir.resolve("analysis-cache.json");
+        GroqAnalysisCache cache = new GroqAnalysisCache(10, 3600, file.toString());
+        cache.put(DIARY, "indie", new GroqDTO.SpotifyAnalysisResult(
+                List.of("indie", "acoustic", "lo-fi"), List.of("rainy", "calm", "nostalgic", "warm", "soft")));
+        cache.saveToDisk();
+
+        String stored = Files.readString(file, StandardCharsets.UTF_8);
+        assertFalse(stored.contains("우울"));
+        assertTrue(stored.contains(GroqAnalysisCache.key(DIARY, "indie")));
+
+        GroqAnalysisCache reloaded = new GroqAnalysisCache(10, 3600, file.toString());
+        reloaded.loadFromDisk();
+        // 공백/대소문자만 다른 입력도 같은 키
+        GroqDTO.SpotifyAnalysisResult result = reloaded.get("  오늘은 비가   와서 조금 우울했다 ", "INDIE");
+        assertNotNull(result);
+        assertEquals(List.of("indie", "acoustic", "lo-fi"), result.getGenres());
+        assertNull(reloaded.get(DIARY, "pop"));
+    }
+
+    @Test
+    void plaintextKeysFromOlderFilesAreDropped() throws Exception {
+        Path file = dir.resolve("legacy-cache.json");
+        Files.writeString(file, "{\"" + DIARY + "|indie\": {\"genres\": [\"indie\"], \"keywords\": [\"rainy\"], "
+                + "\"expiresAt\": " + (System.currentTimeMillis() + 60_000) + "}}", StandardCharsets.UTF_8);
+
+        GroqAnalysisCache cache = new GroqAnalysisCache(10, 3600, file.toString());
+        cache.loadFromDisk();
+        cache.saveToDisk();
+
+        assertFalse(Files.readString(file, StandardCharsets.UTF_8).contains("우울"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.madcamp.moody.groq;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 분석 결과 보정: 중복 제거, 선호 장르 위치, 보충 값, 변경 여부 확인
+ */
+class GroqAnalysisSchemaTests {
+
+    private static final List<String> KEYWORDS = List.of("rainy", "calm", "nostalgic", "warm", "soft");
+
+    @Test
+    void exactCountsAreUnchanged() {
+        GroqDTO.SpotifyAnalysisResult result = result(List.of("indie", "acoustic", "lo-fi"), KEYWORDS);
+
+        assertFalse(GroqAnalysisSchema.repair(result, null));
+        assertEquals(List.of("indie", "acoustic", "lo-fi"), result.getGenres());
+        assertEquals(KEYWORDS, result.getKeywords());
+    }
+
+    @Test
+    void duplicatesIgnoreCaseAndKeepFirstSpelling() {
+        GroqDTO.SpotifyAnalysisResult result = result(
+                List.of("Indie", "indie", " INDIE ", "Jazz", "jazz", "lo-fi"),
+                List.of("Calm", "calm", "rainy", "RAINY", "warm", "soft", "nostalgic"));
+
+        assertTrue(GroqAnalysisSchema.repair(result, null));
+        assertEquals(List.of("Indie", "Jazz", "lo-fi"), result.getGenres());
+        assertEquals(List.of("Calm", "rainy", "warm", "soft", "nostalgic"), result.getKeywords());
+    }
+
+    @Test
+    void preferredGenreIsAddedFirst() {
+        GroqDTO.SpotifyAnalysisResult result = result(List.of("indie", "acoustic", "lo-fi"), KEYWORDS);
+
+        assertTrue(GroqAnalysisSchema.repair(result, "k-pop"));
+        assertEquals(List.of("k-pop", "indie", "acoustic"), result.getGenres());
+    }
+
+    @Test
+    void preferredGenreSurvivesTruncation() {
+        // 모델이 선호 장르를 개수 밖(4번째 이후)에 넣은 경우
+        GroqDTO.SpotifyAnalysisResult result = result(
+                List.of("indie", "acoustic", "lo-fi", "jazz", "K-Pop"), KEYWORDS);
+
+        assertTrue(GroqAnalysisSchema.repair(result, "k-pop"));
+        assertEquals(List.of("k-pop", "indie", "acoustic"), result.getGenres());
+    }
+
+    @Test
+    void preferredGenreAlreadyFirstIsNotAChange() {
+        GroqDTO.SpotifyAnalysisResult result = result(List.of("k-pop", "indie", "acoustic"), KEYWORDS);
+
+        assertFalse(GroqAnalysisSchema.repair(result, "k-pop"));
+        assertEquals(List.of("k-pop", "indie", "acoustic"), result.getGenres());
+    }
+
+    @Test
+    void missingValuesArePaddedFromFillers() {
+        GroqDTO.SpotifyAnalysisResult result = result(List.of("Pop"), List.of("calming", ""));
+
+        assertTrue(GroqAnalysisSchema.repair(result, null));
+        // 이미 있는 값(대소문자 무시)과 같은 보충 값은 건너뜀
+        assertEquals(List.of("Pop", "acoustic", "electronic"), result.getGenres());
+        assertEquals(List.of("calming", "healing", "uplifting", "soothing", "peaceful"), result.getKeywords());
+    }
+
+    @Test
+    void nullListsAreFilledEntirely() {
+        GroqDTO.SpotifyAnalysisResult result = result(null, null);
+
+        assertTrue(GroqAnalysisSchema.repair(result, "jazz"));
+        assertEquals(List.of("jazz", "pop", "acoustic"), result.getGenres());
+        assertEquals(List.of("healing", "calming", "uplifting", "soothing", "peaceful"), result.getKeywords());
+    }
+
+    private static GroqDTO.SpotifyAnalysisResult result(List<String> genres, List<String> keywords) {
+        return new GroqDTO.SpotifyAnalysisResult(
+                genres == null ? null : new ArrayList<>(genres),
+                keywords == null ? null : new ArrayList<>(keywords));
+    }
+}
@@ -0,0 +1,183 @@
+package com.madcamp.moody.groq;
+
+import com.madcamp.moody.config.CancellableRequests;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 모델 라우터: p95 hedge, 실패 시 다음 모델, 마감 시간, 진 요청 취소, 호출 예산 확인 (가짜 ModelCall 사용)
+ */
+class GroqModelRouterTests {
+
+    private GroqModelRouter router;
+
+    @AfterEach
+    void tearDown() {
+        router.shutdown();
+    }
+
+    @Test
+    void hedgeFiresAtObservedP95() throws Exception {
+        router = new GroqModelRouter("model-a", "", 10_000, 5_000, 5, 3);
+        assertEquals(5_000, router.hedgeDelayMillis("model-a"));
+        // 응답 시간 표본을 쌓아 p95 를 약 50ms 로 만듦
+        for (int i = 0; i < 5; i++) {
+            router.route("model-a", model -> {
+                Thread.sleep(50);
+                return "warm-up";
+            });
+        }
+        long p95 = router.hedgeDelayMillis("model-a");
+        assertTrue(p95 >= 50 && p95 < 1_000, () -> "p95=" + p95);
+
+        AtomicInteger calls = new AtomicInteger();
+        long start = System.nanoTime();
+        String result = router.route("model-a", model -> {
+            if (calls.incrementAndGet() == 1) {
+                Thread.sleep(10_000);
+                return "slow";
+            }
+            return "hedge";
+        });
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals("hedge", result);
+        assertEquals(2, calls.get());
+        // 초기값(5초)이 아니라 p95 가 지난 뒤 hedge
+        assertTrue(elapsedMillis >= p95 && elapsedMillis < 5_000, () -> "elapsed=" + elapsedMillis);
+    }
+
+    @Test
+    void errorOrInvalidAnswerMovesToNextModel() {
+        router = new GroqModelRouter("model-a,model-b,model-c", "", 5_000, 5_000, 20, 3);
+        List<String> calledModels = new CopyOnWriteArrayList<>();
+
+        String result = router.route("model-a", model -> {
+            calledModels.add(model);
+            return switch (model) {
+                case "model-a" -> throw new IllegalStateException("500");
+                case "model-b" -> null;
+                default -> "answer-from-" + model;
+            };
+        });
+
+        assertEquals("answer-from-model-c", result);
+        assertEquals(List.of("model-a", "model-b", "model-c"), calledModels);
+    }
+
+    @Test
+    void deadlineReturnsNull() {
+        router = new GroqModelRouter("model-a", "", 200, 5_000, 20, 3);
+
+        long start = System.nanoTime();
+        String result = router.route("model-a", model -> {
+            Thread.sleep(10_000);
+            return "too late";
+        });
+
+        assertNull(result);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2_000);
+    }
+
+    @Test
+    void losingRequestIsCancelled() throws Exception {
+        router = new GroqModelRouter("model-a", "model-b", 10_000, 100, 20, 3);
+        CountDownLatch aborted = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        String result = router.route("model-a", model -> {
+            if (model.equals("model-b")) {
+                return "hedge";
+            }
+            // HTTP 요청 대신 끊을 수 있는 가짜 요청을 등록하고 응답을 기다림
+            CancellableRequests.register(() -> {
+                aborted.countDown();
+                return true;
+            });
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "slow";
+        });
+
+        assertEquals("hedge", result);
+        assertTrue(aborted.await(2, TimeUnit.SECONDS), "진 요청의 커넥션을 닫지 않음");
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS), "진 요청을 인터럽트하지 않음");
+    }
+
+    @Test
+    void callsStayWithinBudget() {
+        router = new GroqModelRouter("model-a,model-b,model-c", "", 5_000, 5_000, 20, 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = router.route("model-a", model -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("500");
+        });
+
+        assertNull(result);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void resendInsideCallUsesSameBudget() {
+        router = new GroqModelRouter("model-a,model-b", "", 5_000, 5_000, 20, 2);
+        List<String> sent = new CopyOnWriteArrayList<>();
+
+        String result = router.route("model-a", model -> {
+            sent.add(model);
+            // 첫 요청 실패 후 같은 모델로 재요청 (tool -> JSON 모드 재요청과 같은 경로)
+            if (model.equals("model-a") && router.tryAcquireCall()) {
+                sent.add(model + "-resend");
+            }
+            return model.equals("model-b") ? "answer" : null;
+        });
+
+        // 재요청이 예산 2개를 다 써서 model-b 로 넘어가지 않음
+        assertNull(result);
+        assertEquals(List.of("model-a", "model-a-resend"), sent);
+        // route 밖에서는 예산 제한 없음
+        assertTrue(router.tryAcquireCall());
+    }
+
+    @Test
+    void modelMetersAreRegisteredWhenModelIsFirstUsed() {
+        router = new GroqModelRouter("model-a,model-b", "", 5_000, 5_000, 20, 3);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        router.bindTo(registry);
+
+        String result = router.route("model-a", model -> {
+            if (model.equals("model-a")) {
+                throw new IllegalStateException("500");
+            }
+            return "answer";
+        });
+
+        assertEquals("answer", result);
+        assertEquals(1.0, registry.get("moody.groq.router.routed").functionCounter().count());
+        assertEquals(1.0, registry.get("moody.groq.router.fallbacks").functionCounter().count());
+        assertEquals(1.0, requests(registry, "model-a", "error"));
+        assertEquals(1.0, requests(registry, "model-b", "success"));
+        assertEquals(1.0, registry.get("moody.groq.router.model.wins").tag("model", "model-b").functionCounter().count());
+        assertEquals(1, registry.get("moody.groq.router.model.latency").tag("model", "model-b").functionTimer().count());
+    }
+
+    private static double requests(SimpleMeterRegistry registry, String model, String outcome) {
+        return registry.get("moody.groq.router.model.requests").tag("model", model).tag("outcome", outcome)
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,82 @@
+package com.madcamp.moody.groq;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * LLM 이 자주 내놓는 형태의 깨진 응답에서 genres/keywords 를 회수하는지 확인
+ */
+class GroqResponseParserTests {
+
+    private static final List<String> GENRES = List.of("indie", "acoustic", "lo-fi");
+    private static final List<String> KEYWORDS = List.of("rainy", "calm", "nostalgic", "warm", "soft");
+    private static final String JSON = "{\"genres\": [\"indie\", \"acoustic\", \"lo-fi\"], "
+            + "\"keywords\": [\"rainy\", \"calm\", \"nostalgic\", \"warm\", \"soft\"]}";
+
+    private final GroqResponseParser parser = new GroqResponseParser();
+
+    static Stream<Arguments> recoverableResponses() {
+        return Stream.of(
+                Arguments.of("json", JSON),
+                Arguments.of("fenced", "```json\n" + JSON + "\n```"),
+                Arguments.of("chatty", "Sure! Here is the analysis:\n" + JSON + "\nHope this helps."),
+                Arguments.of("trailingComma", JSON.substring(0, JSON.length() - 1) + ",}"),
+                Arguments.of("singleQuotes", JSON.replace('"', '\'')),
+                Arguments.of("unquotedKeys", JSON.replace("\"genres\"", "genres").replace("\"keywords\"", "keywords")),
+                Arguments.of("extraFields", "{\"mood\": \"sad\", \"genres\": [\"indie\", \"acoustic\", \"lo-fi\"], "
+                        + "\"reason\": {\"text\": \"rain\"}, \"keywords\": [\"rainy\", \"calm\", \"nostalgic\", \"warm\", \"soft\"]}"),
+                // 객체 밖에 설명문이 붙고 중괄호가 닫히지 않은 경우
+                Arguments.of("missingBrace", JSON.substring(0, JSON.length() - 1) + "\n(분석 완료)"),
+                // 배열 사이 쉼표 누락: 스트리밍 파서가 실패하기 전까지 읽은 값 + 정규식
+                Arguments.of("missingComma", "{\"genres\": [\"indie\", \"acoustic\", \"lo-fi\"] "
+                        + "\"keywords\": [\"rainy\", \"calm\", \"nostalgic\", \"warm\", \"soft\"]}")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("recoverableResponses")
+    void recoversFieldsFromImperfectOutput(String shape, String response) {
+        GroqDTO.SpotifyAnalysisResult result = parser.tryParse(response);
+
+        assertEquals(GENRES, result.getGenres());
+        assertEquals(KEYWORDS, result.getKeywords());
+    }
+
+    @Test
+    void keepsReadPartOfTruncatedResponse() {
+        // 토큰 한도로 마지막 키워드 중간에서 잘린 응답
+        String truncated = JSON.substring(0, JSON.indexOf("\"soft\"") + 3);
+
+        GroqDTO.SpotifyAnalysisResult result = parser.tryParse(truncated);
+
+        assertEquals(GENRES, result.getGenres());
+        assertEquals(List.of("rainy", "calm", "nostalgic", "warm"), result.getKeywords());
+    }
+
+    @Test
+    void returnsNullWhenNothingCanBeRecovered() {
+        assertNull(parser.tryParse("I could not analyze this text."));
+        assertNull(parser.tryParse("{\"genres\": []}"));
+        assertNull(parser.tryParse(null));
+    }
+
+    @Test
+    void fallsBackToMutableDefaults() {
+        GroqDTO.SpotifyAnalysisResult result = parser.parse("I could not analyze this text.");
+
+        assertEquals(List.of("pop", "acoustic", "ambient"), result.getGenres());
+        assertEquals(5, result.getKeywords().size());
+        // GroqService 가 장르를 보충/제거하므로 수정 가능해야 함
+        assertDoesNotThrow(() -> result.getGenres().add("rock"));
+        assertDoesNotThrow(() -> parser.parse(JSON).getGenres().remove(0));
+    }
+}
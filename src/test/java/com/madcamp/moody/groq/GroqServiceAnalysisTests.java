@@ -0,0 +1,159 @@
+package com.madcamp.moody.groq;
+
+import com.madcamp.moody.config.RecommendationMetrics;
+import com.madcamp.moody.mood.MoodRepository;
+import com.madcamp.moody.music.MusicService;
+import com.madcamp.moody.playlist.PlaylistService;
+import com.madcamp.moody.spotify.SpotifyService;
+import com.madcamp.moody.user.UserLookupService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 텍스트 분석 호출 횟수: 읽을 수 있는 응답이면 개수가 틀려도 다시 호출하지 않고,
+ * tool -> JSON 모드 재요청도 GroqModelRouter 의 호출 예산 안에서만 보냄
+ */
+class GroqServiceAnalysisTests {
+
+    private static final String URL = "https://groq.test/chat/completions";
+
+    @TempDir
+    Path dir;
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private GroqModelRouter router;
+    private GroqService service;
+
+    @BeforeEach
+    void setUp() {
+        newService(3);
+    }
+
+    private void newService(int maxCalls) {
+        if (router != null) {
+            router.shutdown();
+        }
+        router = new GroqModelRouter("model-a,model-b", "", 8000, 3000, 20, maxCalls);
+        service = new GroqService(restTemplate, mock(SpotifyService.class), mock(PlaylistService.class),
+                mock(MusicService.class), mock(UserLookupService.class), mock(MoodRepository.class),
+                new GroqAnalysisCache(10, 3600, dir.resolve("cache.json").toString()), new GroqResponseParser(),
+                mock(GroqTokenUsage.class), router, mock(MoodGenreAnalyzer.class),
+                new RecommendationMetrics(ObservationRegistry.NOOP, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "apiKey", "test-key");
+        ReflectionTestUtils.setField(service, "apiUrl", URL);
+        ReflectionTestUtils.setField(service, "structuredOutput", "tool");
+        ReflectionTestUtils.setField(service, "maxInputTokens", 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.shutdown();
+    }
+
+    @Test
+    void wrongCountsAreRepairedWithoutAnotherCall() {
+        when(restTemplate.exchange(eq(URL), eq(HttpMethod.POST), any(HttpEntity.class), eq(GroqDTO.GroqResponse.class)))
+                .thenReturn(ResponseEntity.ok(toolCallResponse(
+                        "{\"genres\": [\"indie\"], \"keywords\": [\"rainy\", \"calm\", \"calm\"]}")));
+
+        GroqDTO.SpotifyAnalysisResult result = service.analyzeTextForSpotifySearch("비 오는 날 창밖을 봤다", "jazz");
+
+        verify(restTemplate, times(1)).exchange(eq(URL), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(GroqDTO.GroqResponse.class));
+        assertEquals(List.of("jazz", "indie", "pop"), result.getGenres());
+        assertEquals(List.of("rainy", "calm", "healing", "calming", "uplifting"), result.getKeywords());
+    }
+
+    @Test
+    void structuredOutputDowngradeUsesRouterBudget() {
+        when(restTemplate.exchange(eq(URL), eq(HttpMethod.POST), any(HttpEntity.class), eq(GroqDTO.GroqResponse.class)))
+                .thenAnswer(invocation -> {
+                    GroqDTO.GroqRequest request = invocation.<HttpEntity<GroqDTO.GroqRequest>>getArgument(2).getBody();
+                    if (request.getTools() != null) {
+                        throw HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "tool_use_failed",
+                                HttpHeaders.EMPTY, null, null);
+                    }
+                    return ResponseEntity.ok(contentResponse(
+                            "{\"genres\": [\"indie\", \"acoustic\", \"lo-fi\"], "
+                                    + "\"keywords\": [\"rainy\", \"calm\", \"nostalgic\", \"warm\", \"soft\"]}"));
+                });
+
+        // 예산 안: tool 요청 실패 후 JSON 모드로 한 번 재요청
+        assertEquals(List.of("indie", "acoustic", "lo-fi"), service.analyzeTextForSpotifySearch("첫 번째 일기").getGenres());
+        verify(restTemplate, times(2)).exchange(eq(URL), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(GroqDTO.GroqResponse.class));
+
+        // 예산 1개: 재요청 없이 기본값 사용 (다음 모델로도 넘어가지 않음)
+        newService(1);
+        clearInvocations(restTemplate);
+        GroqDTO.SpotifyAnalysisResult result = service.analyzeTextForSpotifySearch("두 번째 일기");
+        verify(restTemplate, times(1)).exchange(eq(URL), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(GroqDTO.GroqResponse.class));
+        GroqDTO.SpotifyAnalysisResult defaults = new GroqResponseParser().defaults();
+        GroqAnalysisSchema.repair(defaults, null);
+        assertEquals(defaults.getGenres(), result.getGenres());
+    }
+
+    @Test
+    void fallbackModelGetsShortPrompt() {
+        List<String> systemPrompts = new CopyOnWriteArrayList<>();
+        when(restTemplate.exchange(eq(URL), eq(HttpMethod.POST), any(HttpEntity.class), eq(GroqDTO.GroqResponse.class)))
+                .thenAnswer(invocation -> {
+                    GroqDTO.GroqRequest request = invocation.<HttpEntity<GroqDTO.GroqRequest>>getArgument(2).getBody();
+                    systemPrompts.add(request.getModel() + ":" + request.getMessages().get(0).getContent());
+                    // 주 모델은 읽을 수 없는 응답
+                    return ResponseEntity.ok(request.getModel().equals("model-a")
+                            ? contentResponse("")
+                            : toolCallResponse("{\"genres\": [\"jazz\", \"soul\", \"funk\"], "
+                                    + "\"keywords\": [\"warm\", \"cozy\", \"smooth\", \"mellow\", \"soft\"]}"));
+                });
+
+        GroqDTO.SpotifyAnalysisResult result = service.analyzeTextForSpotifySearch("퇴근길에 들을 음악");
+
+        assertEquals(List.of("jazz", "soul", "funk"), result.getGenres());
+        assertEquals(List.of("model-a:" + GroqPrompts.ANALYSIS_SYSTEM, "model-b:" + GroqPrompts.FALLBACK_SYSTEM),
+                systemPrompts);
+    }
+
+    private static GroqDTO.GroqResponse contentResponse(String content) {
+        GroqDTO.GroqResponse response = new GroqDTO.GroqResponse();
+        response.setChoices(List.of(new GroqDTO.GroqResponse.Choice(0,
+                new GroqDTO.GroqResponse.Choice.Message("assistant", content, null), "stop")));
+        return response;
+    }
+
+    private static GroqDTO.GroqResponse toolCallResponse(String arguments) {
+        GroqDTO.GroqResponse.Choice.ToolCall toolCall = new GroqDTO.GroqResponse.Choice.ToolCall("call-1", "function",
+                new GroqDTO.GroqResponse.Choice.ToolCall.Function(GroqAnalysisSchema.TOOL_NAME, arguments));
+        GroqDTO.GroqResponse.Choice.Message message = new GroqDTO.GroqResponse.Choice.Message("assistant", null,
+                List.of(toolCall));
+        GroqDTO.GroqResponse response = new GroqDTO.GroqResponse();
+        response.setChoices(List.of(new GroqDTO.GroqResponse.Choice(0, message, "tool_calls")));
+        return response;
+    }
+}
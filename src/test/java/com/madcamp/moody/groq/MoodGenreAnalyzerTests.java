@@ -0,0 +1,82 @@
+package com.madcamp.moody.groq;
+
+import com.madcamp.moody.mood.MoodType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 규칙 기반 분석기: seed 재현성, 기분별 개수/중복, 선호 장르 변환 확인
+ */
+class MoodGenreAnalyzerTests {
+
+    private final MoodGenreAnalyzer analyzer = new MoodGenreAnalyzer();
+
+    @Test
+    void sameSeedGivesSameResult() {
+        List<String> preferred = List.of("jazz", "hip_hop");
+        for (long seed = 0; seed < 100; seed++) {
+            GroqDTO.SpotifyAnalysisResult first = analyzer.analyze(MoodType.SAD, preferred, seed);
+            GroqDTO.SpotifyAnalysisResult second = analyzer.analyze(MoodType.SAD, preferred, seed);
+
+            assertEquals(first.getGenres(), second.getGenres());
+            assertEquals(first.getKeywords(), second.getKeywords());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(MoodType.class)
+    void everyMoodYieldsDistinctGenresAndKeywords(MoodType moodType) {
+        for (long seed = 0; seed < 200; seed++) {
+            assertDistinctCounts(analyzer.analyze(moodType, List.of(), seed));
+            // 선호 장르가 기분 쪽 장르와 겹쳐도 중복 없이 3개
+            assertDistinctCounts(analyzer.analyze(moodType, List.of("pop", "rock", "k_pop", "r_n_b"), seed));
+        }
+    }
+
+    @Test
+    void missingMoodUsesNeutralProfile() {
+        for (long seed = 0; seed < 50; seed++) {
+            assertDistinctCounts(analyzer.analyze(null, null, seed));
+        }
+    }
+
+    @Test
+    void preferredGenreIsAlwaysFirst() {
+        for (long seed = 0; seed < 50; seed++) {
+            GroqDTO.SpotifyAnalysisResult result = analyzer.analyze(MoodType.ANGRY, List.of("hip_hop"), seed);
+            assertEquals("hip-hop", result.getGenres().get(0));
+        }
+    }
+
+    @Test
+    void musicGenreNamesMapToSearchNames() {
+        assertEquals(List.of("hip-hop", "r&b", "k-pop", "jazz"),
+                MoodGenreAnalyzer.toSearchGenres(List.of("hip_hop", "r_n_b", "k_pop", "jazz")));
+    }
+
+    @Test
+    void unknownGenreNamesAreIgnored() {
+        assertEquals(List.of("indie"),
+                MoodGenreAnalyzer.toSearchGenres(Arrays.asList("trot", null, "Indie", "indie", "K-POP", "indie")));
+        assertEquals(List.of(), MoodGenreAnalyzer.toSearchGenres(null));
+
+        GroqDTO.SpotifyAnalysisResult result = analyzer.analyze(MoodType.CALM, List.of("trot", "힙합"), 7);
+        assertDistinctCounts(result);
+        assertTrue(result.getGenres().stream().noneMatch(genre -> genre.equals("trot") || genre.equals("힙합")));
+    }
+
+    private static void assertDistinctCounts(GroqDTO.SpotifyAnalysisResult result) {
+        assertEquals(GroqAnalysisSchema.GENRE_COUNT, new HashSet<>(result.getGenres()).size(), result.getGenres()::toString);
+        assertEquals(GroqAnalysisSchema.GENRE_COUNT, result.getGenres().size());
+        assertEquals(GroqAnalysisSchema.KEYWORD_COUNT, new HashSet<>(result.getKeywords()).size(), result.getKeywords()::toString);
+        assertEquals(GroqAnalysisSchema.KEYWORD_COUNT, result.getKeywords().size());
+    }
+}
@@ -0,0 +1,172 @@
+package com.madcamp.moody.music;
+
+import com.madcamp.moody.mood.MoodMonthSummaryCache;
+import com.madcamp.moody.playlist.Playlist;
+import com.madcamp.moody.playlist.PlaylistRepository;
+import com.madcamp.moody.user.User;
+import com.madcamp.moody.user.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 추천 곡 저장(10곡짜리 플레이리스트) 처리량 비교: 이전 방식(곡마다 findById + saveAll) vs createMusics(insertAll 배치)
+ * - 기본 test 작업에서는 제외, 실행: ./gradlew dbBenchmark
+ * - Docker 가 있으면 MySQL 8 컨테이너, 없으면 -Dmoody.benchmark.jdbc-url 로 지정한 DB 사용 (둘 다 없으면 건너뜀)
+ */
+@Tag("benchmark")
+@EnabledIf("databaseAvailable")
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({MusicService.class, TrackHistoryIndex.class, MoodMonthSummaryCache.class})
+// 각 반복이 실제로 커밋되도록 테스트 전체를 감싸는 트랜잭션은 사용하지 않음
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MusicInsertBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(MusicInsertBenchmarkTests.class);
+
+    private static final String JDBC_URL = "moody.benchmark.jdbc-url";
+    private static final int TRACKS_PER_PLAYLIST = 10;
+    private static final int WARMUP_PLAYLISTS = 200;
+    private static final int MEASURED_PLAYLISTS = 1000;
+
+    private static MySQLContainer<?> mysql;
+
+    @Autowired
+    private MusicService musicService;
+
+    @Autowired
+    private MusicRepository musicRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlaylistRepository playlistRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    static boolean databaseAvailable() {
+        return System.getProperty(JDBC_URL) != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        String url = System.getProperty(JDBC_URL);
+        if (url == null) {
+            mysql = new MySQLContainer<>("mysql:8.0").withUrlParam("rewriteBatchedStatements", "true");
+            mysql.start();
+            url = mysql.getJdbcUrl();
+            registry.add("spring.datasource.username", mysql::getUsername);
+            registry.add("spring.datasource.password", mysql::getPassword);
+        } else {
+            registry.add("spring.datasource.username", () -> System.getProperty("moody.benchmark.username", "root"));
+            registry.add("spring.datasource.password", () -> System.getProperty("moody.benchmark.password", ""));
+        }
+        String jdbcUrl = url;
+        registry.add("spring.datasource.url", () -> jdbcUrl);
+        registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+    }
+
+    @AfterAll
+    static void stopContainer() {
+        if (mysql != null) {
+            mysql.stop();
+        }
+    }
+
+    @Test
+    void insertAllOutperformsPerRowSave() {
+        User user = new User();
+        user.setOauthId("benchmark-" + System.nanoTime());
+        Long userId = userRepository.save(user).getId();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // 이전 createMusics: 곡마다 사용자를 findById 로 읽고 saveAll (IDENTITY 라 곡마다 INSERT 한 번)
+        Consumer<List<MusicDTO>> perRowSave = dtos -> transaction.executeWithoutResult(status -> {
+            List<Music> musicList = new ArrayList<>();
+            for (MusicDTO dto : dtos) {
+                Music music = new Music(dto.getMusicUrl(), dto.getPlaylistId());
+                music.setTrackId(Music.extractTrackId(dto.getMusicUrl()));
+                music.setUser(userRepository.findById(dto.getUserId()).orElseThrow());
+                musicList.add(music);
+            }
+            musicRepository.saveAll(musicList);
+        });
+        // 현재 createMusics: 사용자 확인 한 번 + JDBC 배치 INSERT
+        Consumer<List<MusicDTO>> batchInsert = dtos -> transaction.executeWithoutResult(
+                status -> musicService.createMusics(dtos));
+
+        double perRowRowsPerSecond = measure("saveAll (per row)", perRowSave, userId);
+        double batchRowsPerSecond = measure("insertAll (batch)", batchInsert, userId);
+        log.info("10곡 플레이리스트 저장 처리량: saveAll {} rows/s, insertAll {} rows/s ({}배)",
+                Math.round(perRowRowsPerSecond), Math.round(batchRowsPerSecond),
+                String.format("%.2f", batchRowsPerSecond / perRowRowsPerSecond));
+
+        long expectedRows = 2L * (WARMUP_PLAYLISTS + MEASURED_PLAYLISTS) * TRACKS_PER_PLAYLIST;
+        assertEquals(expectedRows, musicRepository.findByUserId(userId).size());
+        assertTrue(batchRowsPerSecond > 0 && perRowRowsPerSecond > 0);
+    }
+
+    // 워밍업 후 MEASURED_PLAYLISTS 개 플레이리스트를 저장하는 동안의 초당 저장 곡 수
+    private double measure(String name, Consumer<List<MusicDTO>> save, Long userId) {
+        for (int i = 0; i < WARMUP_PLAYLISTS; i++) {
+            save.accept(tracks(newPlaylist(userId), userId));
+        }
+        List<List<MusicDTO>> batches = new ArrayList<>(MEASURED_PLAYLISTS);
+        for (int i = 0; i < MEASURED_PLAYLISTS; i++) {
+            batches.add(tracks(newPlaylist(userId), userId));
+        }
+
+        long start = System.nanoTime();
+        for (List<MusicDTO> batch : batches) {
+            save.accept(batch);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double rowsPerSecond = MEASURED_PLAYLISTS * TRACKS_PER_PLAYLIST / seconds;
+        log.info("{}: {}곡 {}ms, {} rows/s", name, MEASURED_PLAYLISTS * TRACKS_PER_PLAYLIST,
+                Math.round(seconds * 1000), Math.round(rowsPerSecond));
+        return rowsPerSecond;
+    }
+
+    private Long newPlaylist(Long userId) {
+        return playlistRepository.save(new Playlist("benchmark", userId)).getPlaylistId();
+    }
+
+    private static List<MusicDTO> tracks(Long playlistId, Long userId) {
+        List<MusicDTO> dtos = new ArrayList<>(TRACKS_PER_PLAYLIST);
+        for (int i = 0; i < TRACKS_PER_PLAYLIST; i++) {
+            MusicDTO dto = new MusicDTO("https://open.spotify.com/track/p" + playlistId + "t" + i, playlistId);
+            dto.setUserId(userId);
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+}
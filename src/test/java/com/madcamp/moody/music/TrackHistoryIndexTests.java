@@ -0,0 +1,85 @@
+package com.madcamp.moody.music;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 추천 이력 인덱스가 커밋 전 상태를 캐시하지 않는지 확인
+ */
+class TrackHistoryIndexTests {
+
+    private final TrackHistoryIndex index = new TrackHistoryIndex(100);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void invalidateInsideTransactionWaitsForCommit() {
+        index.getOrLoad(1L, () -> load("a"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.invalidateAfterCommit(1L);
+        // 커밋 전: 아직 기존 이력을 사용
+        index.getOrLoad(1L, () -> load("b"));
+        assertEquals(1, loads.get());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(Set.of("b"), index.getOrLoad(1L, () -> load("b")));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void rolledBackInvalidationKeepsIndex() {
+        index.getOrLoad(1L, () -> load("a"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.invalidateAfterCommit(1L);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertEquals(Set.of("a"), index.getOrLoad(1L, () -> load("b")));
+    }
+
+    @Test
+    void loadRacingWithInvalidationIsNotCached() {
+        // 로드하는 동안 다른 트랜잭션이 커밋되어 무효화된 경우
+        Set<String> stale = index.getOrLoad(1L, () -> {
+            index.invalidate(1L);
+            return load("stale");
+        });
+        assertEquals(Set.of("stale"), stale);
+
+        assertEquals(Set.of("fresh"), index.getOrLoad(1L, () -> load("fresh")));
+    }
+
+    @Test
+    void invalidationOnlyAffectsThatUser() {
+        index.getOrLoad(1L, () -> load("a"));
+        index.getOrLoad(2L, () -> load("b"));
+
+        index.invalidate(1L);
+
+        assertEquals(Set.of("b"), index.getOrLoad(2L, () -> load("other")));
+        assertEquals(2, loads.get());
+    }
+
+    private List<String> load(String... trackIds) {
+        loads.incrementAndGet();
+        return List.of(trackIds);
+    }
+}
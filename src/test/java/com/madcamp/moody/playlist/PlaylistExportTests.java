@@ -0,0 +1,172 @@
+package com.madcamp.moody.playlist;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.madcamp.moody.controller.CursorPage;
+import com.madcamp.moody.mood.MoodMonthSummaryCache;
+import com.madcamp.moody.music.MusicRepository;
+import com.madcamp.moody.music.MusicService;
+import com.madcamp.moody.music.TrackHistoryIndex;
+import com.madcamp.moody.user.CurrentUser;
+import com.madcamp.moody.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 플레이리스트 목록/내보내기: 로그인한 사용자의 행만 페이지 단위로 읽고, 내보내기 시간 제한은 이 요청에만 적용되는지 확인
+ */
+class PlaylistExportTests {
+
+    private static final long USER_ID = 7L;
+
+    private final PlaylistRepository playlistRepository = mock(PlaylistRepository.class);
+    private final PlaylistService playlistService = new PlaylistService(playlistRepository, mock(MusicRepository.class),
+            mock(MusicService.class), mock(TrackHistoryIndex.class), mock(MoodMonthSummaryCache.class));
+    private User currentUser;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        PlaylistController controller = new PlaylistController(playlistService, mock(MusicService.class), objectMapper);
+        ReflectionTestUtils.setField(controller, "exportTimeoutMs", 1234L);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new FixedCurrentUser())
+                .build();
+    }
+
+    @Test
+    void exportPagesThroughCurrentUsersRowsOnly() {
+        int total = PlaylistService.EXPORT_PAGE_SIZE * 2 + 3;
+        List<PlaylistDTO> rows = LongStream.rangeClosed(1, total)
+                .mapToObj(id -> new PlaylistDTO(id, "playlist-" + id, USER_ID, null, null))
+                .toList();
+        stubPages(rows);
+        List<Long> exported = new ArrayList<>();
+
+        playlistService.forEachPlaylist(USER_ID, playlist -> exported.add(playlist.getPlaylistId()));
+
+        assertEquals(LongStream.rangeClosed(1, total).boxed().toList(), exported);
+        verify(playlistRepository).findPageByDiaryIdAfter(eq(USER_ID), eq(0L), any());
+        verify(playlistRepository).findPageByDiaryIdAfter(eq(USER_ID), eq((long) PlaylistService.EXPORT_PAGE_SIZE), any());
+        verify(playlistRepository).findPageByDiaryIdAfter(eq(USER_ID), eq((long) PlaylistService.EXPORT_PAGE_SIZE * 2), any());
+    }
+
+    @Test
+    void exportWritesNdjsonWithPerRequestTimeout() throws Exception {
+        currentUser = new User();
+        currentUser.setId(USER_ID);
+        stubPages(List.of(new PlaylistDTO(1L, "first", USER_ID, null, null),
+                new PlaylistDTO(2L, "second", USER_ID, null, null)));
+
+        MvcResult started = mockMvc.perform(get("/api/playlists/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(1234L, started.getRequest().getAsyncContext().getTimeout());
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("first", new ObjectMapper().readTree(lines[0]).get("title").asText());
+        assertEquals("second", new ObjectMapper().readTree(lines[1]).get("title").asText());
+    }
+
+    @Test
+    void exportWithoutUserIsRejected() throws Exception {
+        currentUser = null;
+
+        mockMvc.perform(get("/api/playlists/export"))
+                .andExpect(status().isUnauthorized());
+        verify(playlistRepository, never()).findPageByDiaryIdAfter(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void pageAndLegacyListReadCurrentUsersRowsOnly() throws Exception {
+        currentUser = new User();
+        currentUser.setId(USER_ID);
+        stubPages(LongStream.rangeClosed(1, 5)
+                .mapToObj(id -> new PlaylistDTO(id, "playlist-" + id, USER_ID, null, null))
+                .toList());
+
+        mockMvc.perform(get("/api/playlists/page").param("after", "2").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].playlistId").value(3))
+                .andExpect(jsonPath("$.nextCursor").value(4));
+        mockMvc.perform(get("/api/playlists"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5));
+
+        verify(playlistRepository).findPageByDiaryIdAfter(eq(USER_ID), eq(2L), eq(Limit.of(2)));
+        verify(playlistRepository).findPageByDiaryIdAfter(eq(USER_ID), eq(0L), eq(Limit.of(CursorPage.MAX_SIZE)));
+        verify(playlistRepository, never()).findAll();
+    }
+
+    @Test
+    void pageWithoutUserIsRejected() throws Exception {
+        currentUser = null;
+
+        mockMvc.perform(get("/api/playlists/page"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/playlists"))
+                .andExpect(status().isUnauthorized());
+        verify(playlistRepository, never()).findPageByDiaryIdAfter(anyLong(), anyLong(), any());
+    }
+
+    // afterId 다음부터 limit 개를 돌려주는 keyset 페이지 흉내
+    private void stubPages(List<PlaylistDTO> rows) {
+        when(playlistRepository.findPageByDiaryIdAfter(eq(USER_ID), anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(1);
+            Limit limit = invocation.getArgument(2);
+            return rows.stream()
+                    .filter(row -> row.getPlaylistId() > afterId)
+                    .limit(limit.max())
+                    .toList();
+        });
+    }
+
+    private class FixedCurrentUser implements HandlerMethodArgumentResolver {
+        @Override
+        public boolean supportsParameter(MethodParameter parameter) {
+            return parameter.hasParameterAnnotation(CurrentUser.class);
+        }
+
+        @Override
+        public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                      NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+            return currentUser;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.madcamp.moody.search;
+
+import com.madcamp.moody.user.CurrentUser;
+import com.madcamp.moody.user.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.core.MethodParameter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 검색어 -> BOOLEAN MODE 검색식 변환, page/size 제한, 검색할 단어가 없을 때 400 확인
+ */
+class SearchServiceTests {
+
+    private final SearchRepository searchRepository = mock(SearchRepository.class);
+    private final SearchService searchService = new SearchService(searchRepository);
+
+    @ParameterizedTest(name = "[{0}] -> [{1}]")
+    @CsvSource(delimiter = '|', quoteCharacter = '\'', nullValues = "null", textBlock = """
+            rainy day                 | +"rainy" +"day"
+            '  rainy    day  '        | +"rainy" +"day"
+            +rainy -day               | +"rainy" +"day"
+            <happy> (sad) ~calm       | +"happy" +"sad" +"calm"
+            jazz* "lofi" @home        | +"jazz" +"lofi" +"home"
+            r&b hip-hop               | +"r&b" +"hiphop"
+            비 오는 날                  | +"오는"
+            비 눈 해                    | null
+            비오는 날씨                  | +"비오는" +"날씨"
+            a bc                      | +"bc"
+            '*a* "b"'                 | null
+            +"-"                      | null
+            '+ - < > ( ) ~ * " @'     | null
+            ''                        | null
+            '   '                     | null
+            """)
+    void operatorsAreStrippedAndShortTermsDropped(String query, String expected) {
+        assertEquals(expected, SearchService.toBooleanQuery(query));
+    }
+
+    @Test
+    void nullQueryHasNoTerms() {
+        assertNull(SearchService.toBooleanQuery(null));
+    }
+
+    @Test
+    void termLengthCountsCodePoints() {
+        // 보조 평면 문자(이모지)는 char 2개지만 한 글자
+        assertNull(SearchService.toBooleanQuery("😀"));
+        assertEquals("+\"😀😀\"", SearchService.toBooleanQuery("😀😀"));
+        assertEquals("+\"음악\"", SearchService.toBooleanQuery("음악"));
+    }
+
+    @Test
+    void queryWithoutSearchableTermIsRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> searchService.searchPlaylists(1L, "+ - \"*\" a", 0, 20));
+        assertTrue(e.getMessage().contains(String.valueOf(SearchService.MIN_TERM_LENGTH)));
+        verify(searchRepository, never()).searchPlaylists(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void operatorOnlyQueryIsBadRequest() throws Exception {
+        SearchController controller = new SearchController();
+        ReflectionTestUtils.setField(controller, "searchService", searchService);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new LoggedInUser())
+                .build();
+
+        mockMvc.perform(get("/api/search/diaries").param("q", "+-<>()~*\"@"))
+                .andExpect(status().isBadRequest());
+        verify(searchRepository, never()).searchDiaries(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @ParameterizedTest(name = "size {0} -> {1}")
+    @CsvSource({
+            "-5, 1",
+            "0, 1",
+            "1, 1",
+            "20, 20",
+            "50, 50",
+            "51, 50",
+            "1000, 50"
+    })
+    void sizeIsClamped(int size, int expectedSize) {
+        when(searchRepository.searchPlaylists(1L, "+\"rainy\"", expectedSize + 1, 2 * expectedSize))
+                .thenReturn(List.of());
+
+        SearchPage page = searchService.searchPlaylists(1L, "rainy", 2, size);
+
+        assertEquals(expectedSize, page.size());
+        // 다음 페이지 확인용으로 한 건 더, offset 은 page * size
+        verify(searchRepository).searchPlaylists(1L, "+\"rainy\"", expectedSize + 1, 2 * expectedSize);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"-1", "51", "1000"})
+    void pageOutsideRangeIsRejected(int page) {
+        assertThrows(IllegalArgumentException.class, () -> searchService.searchDiaries(1L, "rainy", page, 20));
+        verify(searchRepository, never()).searchDiaries(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void lastAllowedPageIsSearched() {
+        when(searchRepository.searchDiaries(1L, "+\"rainy\"", 21, SearchService.MAX_PAGE * 20)).thenReturn(List.of());
+
+        SearchPage page = searchService.searchDiaries(1L, " rainy ", SearchService.MAX_PAGE, 20);
+
+        assertEquals(SearchService.MAX_PAGE, page.page());
+        assertEquals("rainy", page.query());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void extraRowMeansNextPage() {
+        when(searchRepository.searchPlaylists(1L, "+\"rainy\"", 3, 0)).thenReturn(hits(3));
+        SearchPage full = searchService.searchPlaylists(1L, "rainy", 0, 2);
+        assertTrue(full.hasNext());
+        assertEquals(List.of(1L, 2L), full.items().stream().map(SearchHit::id).toList());
+
+        when(searchRepository.searchPlaylists(1L, "+\"rainy\"", 3, 2)).thenReturn(hits(2));
+        SearchPage last = searchService.searchPlaylists(1L, "rainy", 1, 2);
+        assertFalse(last.hasNext());
+        assertEquals(2, last.items().size());
+    }
+
+    private static List<SearchHit> hits(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(id -> new SearchHit((long) id, "playlist-" + id, null, 1.0))
+                .toList();
+    }
+
+    private static class LoggedInUser implements HandlerMethodArgumentResolver {
+        @Override
+        public boolean supportsParameter(MethodParameter parameter) {
+            return parameter.hasParameterAnnotation(CurrentUser.class);
+        }
+
+        @Override
+        public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                      NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+            User user = new User();
+            user.setId(1L);
+            return user;
+        }
+    }
+}
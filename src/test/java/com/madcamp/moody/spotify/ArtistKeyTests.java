@@ -0,0 +1,76 @@
+package com.madcamp.moody.spotify;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 아티스트 키: 대표 아티스트 분리, 공백/대소문자 무시, 한글/전각 정규화, 캐시 비우기 확인
+ */
+class ArtistKeyTests {
+
+    @ParameterizedTest(name = "[{index}] \"{0}\" -> \"{1}\"")
+    @CsvSource(delimiter = '|', quoteCharacter = '\'', textBlock = """
+            Artist 1                  | artist1
+            artist1                   | artist1
+            '  The   Weeknd  '        | theweeknd
+            # 구분자
+            Simon, Garfunkel          | simon
+            Simon & Garfunkel         | simon
+            Drake feat. Rihanna       | drake
+            Drake Feat. Rihanna       | drake
+            Drake FEAT. Rihanna       | drake
+            Drake ft. Rihanna         | drake
+            Drake FT. Rihanna         | drake
+            Drake (feat. Rihanna)     | drake
+            Drake [ft. Rihanna]       | drake
+            Drake(feat. Rihanna)      | drake
+            'A, B & C feat. D'        | a
+            # 단어 중간의 ft./feat. 는 구분자가 아님
+            Left.Right                | left.right
+            Swift.                    | swift.
+            Aftermath                 | aftermath
+            Featurette                | featurette
+            Defeat. Band              | defeat.band
+            ft                        | ft
+            # 구분자로 시작하면 전체 사용
+            feat. Nobody              | feat.nobody
+            '& Friends'               | &friends
+            # 한글 / 전각 (NFKC)
+            아이유                       | 아이유
+            아이유 (IU)                  | 아이유(iu)
+            '아이유, 박명수'               | 아이유
+            아이유 feat. 지코             | 아이유
+            ＢＴＳ                       | bts
+            'ＢＴＳ，ＩＵ'                 | bts
+            'ＢＴＳ＆ＩＵ'                 | bts
+            'ＡＢ　Ｃ'                    | abc
+            ｆｔ．Island                 | ft.island
+            BTS (방탄소년단)               | bts(방탄소년단)
+            """)
+    void normalizesToPrimaryArtistKey(String artist, String expected) {
+        assertEquals(expected, ArtistKey.normalize(artist));
+        assertEquals(expected, ArtistKey.of(artist));
+    }
+
+    @Test
+    void nullIsEmptyKey() {
+        assertEquals("", ArtistKey.of(null));
+    }
+
+    @Test
+    void cacheIsClearedWhenFull() {
+        int i = 0;
+        while (ArtistKey.cachedCount() < ArtistKey.MAX_CACHED) {
+            ArtistKey.of("Cache Fill " + i++);
+        }
+
+        assertEquals("overflowartist", ArtistKey.of("Overflow Artist"));
+        assertEquals(1, ArtistKey.cachedCount());
+        // 비운 뒤에도 같은 키를 다시 계산
+        assertEquals("cachefill0", ArtistKey.of("Cache Fill 0"));
+        assertEquals(2, ArtistKey.cachedCount());
+    }
+}
@@ -0,0 +1,80 @@
+package com.madcamp.moody.spotify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 플레이리스트 트랙 캐시: 적중/미스/재검증/크기 제한이 cache.* 지표로 집계되는지 확인
+ */
+class PlaylistTrackCacheTests {
+
+    private SimpleMeterRegistry registry;
+    private PlaylistTrackCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = newCache(2, 1800);
+    }
+
+    // 같은 이름의 지표가 이전 캐시를 가리키지 않도록 캐시마다 새 registry 사용
+    private PlaylistTrackCache newCache(int maxEntries, long ttlSeconds) {
+        registry = new SimpleMeterRegistry();
+        PlaylistTrackCache created = new PlaylistTrackCache(maxEntries, ttlSeconds);
+        created.bindTo(registry);
+        return created;
+    }
+
+    @Test
+    void hitsAndMissesAreCounted() {
+        assertNull(cache.get("p1", "s1"));
+        cache.put("p1", "s1", "etag-1", List.of(new SpotifyDTO.MusicRecommendation.RecommendedTrack()));
+        assertNotNull(cache.get("p1", "s1"));
+        assertNotNull(cache.get("p1", "s1"));
+
+        assertEquals(2.0, gets("hit"));
+        assertEquals(1.0, gets("miss"));
+        assertEquals(1.0, registry.get("cache.size").tag("cache", "playlist-tracks").gauge().value());
+    }
+
+    @Test
+    void sameSnapshotAfterTtlIsHitAndRevalidation() {
+        cache = newCache(2, 0);
+        cache.put("p1", "s1", "etag-1", List.of());
+
+        assertNotNull(cache.get("p1", "s1"));
+        assertNull(cache.get("p1", "s2"));
+        assertEquals("etag-1", cache.etag("p1"));
+        assertNotNull(cache.notModified("p1", "s2"));
+
+        assertEquals(1.0, gets("hit"));
+        assertEquals(1.0, gets("miss"));
+        assertEquals(1.0, event("moody.cache.revalidations"));
+        assertEquals(1.0, event("moody.cache.not_modified"));
+    }
+
+    @Test
+    void oldestEntryIsEvictedWhenFull() {
+        cache.put("p1", "s1", null, List.of());
+        cache.put("p2", "s2", null, List.of());
+        cache.put("p3", "s3", null, List.of());
+
+        assertNull(cache.get("p1", "s1"));
+        assertEquals(1.0, registry.get("cache.evictions").tag("cache", "playlist-tracks").functionCounter().count());
+    }
+
+    private double gets(String result) {
+        return registry.get("cache.gets").tag("cache", "playlist-tracks").tag("result", result)
+                .functionCounter().count();
+    }
+
+    private double event(String name) {
+        return registry.get(name).tag("cache", "playlist-tracks").functionCounter().count();
+    }
+}
@@ -0,0 +1,227 @@
+package com.madcamp.moody.spotify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Spotify 호출 스케줄러: 우선순위 순서, 대기열/마감 시간 초과 시 버림, 429 후 중단과 한 번 재시도, Retry-After 해석
+ */
+class SpotifyRequestSchedulerTests {
+
+    private SimpleMeterRegistry registry;
+    private SpotifyRequestScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = newScheduler(200);
+    }
+
+    // 초당 100개, burst 1 (테스트마다 새 registry 에 gauge/counter 등록)
+    private SpotifyRequestScheduler newScheduler(int maxQueue) {
+        registry = new SimpleMeterRegistry();
+        SpotifyRequestScheduler created = new SpotifyRequestScheduler(100, 1, maxQueue, 3000);
+        created.bindTo(registry);
+        return created;
+    }
+
+    @Test
+    void interactiveCallsGoBeforeQueuedBackgroundCalls() throws Exception {
+        pause(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                String name = "background-" + i;
+                futures.add(executor.submit(() -> scheduler.execute(SpotifyRequestScheduler.Priority.BACKGROUND,
+                        () -> order.add(name), deadline)));
+                awaitQueued("background", i + 1);
+            }
+            for (int i = 0; i < 3; i++) {
+                String name = "interactive-" + i;
+                futures.add(executor.submit(() -> scheduler.execute(SpotifyRequestScheduler.Priority.INTERACTIVE,
+                        () -> order.add(name), deadline)));
+                awaitQueued("interactive", i + 1);
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 중단이 풀린 뒤 INTERACTIVE 를 모두 내보내고 나서 BACKGROUND (같은 우선순위 안에서는 들어온 순서)
+        assertEquals(List.of("interactive-0", "interactive-1", "interactive-2",
+                "background-0", "background-1", "background-2"), order);
+        assertEquals(4.0, counter("moody.spotify.scheduler.dispatched", "interactive"));
+        assertEquals(3.0, counter("moody.spotify.scheduler.dispatched", "background"));
+    }
+
+    @Test
+    void fullQueueIsShedImmediately() throws Exception {
+        scheduler = newScheduler(1);
+        pause(1);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<?> waiting = executor.submit(() -> scheduler.execute(SpotifyRequestScheduler.Priority.BACKGROUND,
+                    () -> "queued", System.nanoTime() + TimeUnit.SECONDS.toNanos(10)));
+            awaitQueued("background", 1);
+
+            long start = System.nanoTime();
+            TimeoutException e = assertThrows(TimeoutException.class, () -> scheduler.execute(
+                    SpotifyRequestScheduler.Priority.BACKGROUND, () -> "shed",
+                    System.nanoTime() + TimeUnit.SECONDS.toNanos(10)));
+            assertTrue(e.getMessage().contains("가득"));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+            assertEquals(1.0, counter("moody.spotify.scheduler.shed", "background"));
+
+            waiting.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void callPastDeadlineIsShed() throws Exception {
+        pause(2);
+        long start = System.nanoTime();
+
+        TimeoutException e = assertThrows(TimeoutException.class, () -> scheduler.execute(
+                SpotifyRequestScheduler.Priority.BACKGROUND, () -> "late",
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100)));
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(e.getMessage().contains("마감"));
+        assertTrue(elapsedMillis >= 100 && elapsedMillis < 1_000, () -> "elapsed=" + elapsedMillis);
+        assertEquals(1.0, counter("moody.spotify.scheduler.shed", "background"));
+        assertEquals(0.0, gauge("moody.spotify.scheduler.queued", "background"));
+    }
+
+    @Test
+    void rateLimitPausesAllCallsAndRetriesOnce() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        long start = System.nanoTime();
+
+        String result = scheduler.execute(SpotifyRequestScheduler.Priority.BACKGROUND, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw tooManyRequests("1");
+            }
+            return "ok";
+        }, System.nanoTime() + TimeUnit.SECONDS.toNanos(5));
+
+        assertEquals("ok", result);
+        assertEquals(2, calls.get());
+        // Retry-After(1초) 동안 다시 보내지 않음
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 1_000);
+        assertEquals(1.0, registry.get("moody.spotify.scheduler.rate_limited").functionCounter().count());
+        assertEquals(1.0, registry.get("moody.spotify.scheduler.retried").functionCounter().count());
+        assertEquals(1.0, registry.get("moody.spotify.scheduler.paused").functionCounter().count());
+    }
+
+    @Test
+    void secondRateLimitIsNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(HttpClientErrorException.TooManyRequests.class, () -> scheduler.execute(
+                SpotifyRequestScheduler.Priority.BACKGROUND, () -> {
+                    calls.incrementAndGet();
+                    throw tooManyRequests("0");
+                }, System.nanoTime() + TimeUnit.SECONDS.toNanos(5)));
+
+        assertEquals(2, calls.get());
+        assertEquals(2.0, registry.get("moody.spotify.scheduler.rate_limited").functionCounter().count());
+        assertEquals(1.0, registry.get("moody.spotify.scheduler.retried").functionCounter().count());
+    }
+
+    @Test
+    void rateLimitPastDeadlineIsNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(HttpClientErrorException.TooManyRequests.class, () -> scheduler.execute(
+                SpotifyRequestScheduler.Priority.INTERACTIVE, () -> {
+                    calls.incrementAndGet();
+                    throw tooManyRequests("30");
+                }, System.nanoTime() + TimeUnit.SECONDS.toNanos(5)));
+
+        assertEquals(1, calls.get());
+        assertTrue(scheduler.isThrottled());
+        assertTrue(registry.get("moody.spotify.scheduler.blocked").timeGauge().value(TimeUnit.SECONDS) > 25);
+    }
+
+    @ParameterizedTest(name = "Retry-After \"{0}\" -> {1}ms")
+    @CsvSource(nullValues = "null", value = {
+            "3, 3000",
+            "' 2 ', 2000",
+            "0, 0",
+            "-5, 0",
+            "'', 1000",
+            "null, 1000",
+            "abc, 1000",
+            "1.5, 1000",
+            "'Wed, 21 Oct 2026 07:28:00 GMT', 1000"
+    })
+    void retryAfterIsParsedAsSeconds(String retryAfter, long expectedMillis) {
+        HttpHeaders headers = new HttpHeaders();
+        if (retryAfter != null) {
+            headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        assertEquals(expectedMillis, SpotifyRequestScheduler.retryAfterMillis(headers));
+    }
+
+    @Test
+    void missingHeadersUseDefaultRetryAfter() {
+        assertEquals(1000, SpotifyRequestScheduler.retryAfterMillis(null));
+    }
+
+    // 429 응답으로 seconds 초 동안 모든 호출을 멈춤 (마감 시간이 짧아 재시도하지 않음)
+    private void pause(int seconds) {
+        assertThrows(HttpClientErrorException.TooManyRequests.class, () -> scheduler.execute(
+                SpotifyRequestScheduler.Priority.INTERACTIVE, () -> {
+                    throw tooManyRequests(String.valueOf(seconds));
+                }, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10)));
+        assertTrue(scheduler.isThrottled());
+    }
+
+    private void awaitQueued(String priority, int expected) throws InterruptedException {
+        long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gauge("moody.spotify.scheduler.queued", priority) < expected) {
+            assertTrue(System.nanoTime() < until, "대기열에 들어가지 않음");
+            Thread.sleep(5);
+        }
+    }
+
+    private double gauge(String name, String priority) {
+        return registry.get(name).tag("priority", priority).gauge().value();
+    }
+
+    private double counter(String name, String priority) {
+        return registry.get(name).tag("priority", priority).functionCounter().count();
+    }
+
+    private static HttpClientErrorException tooManyRequests(String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        return HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null);
+    }
+}
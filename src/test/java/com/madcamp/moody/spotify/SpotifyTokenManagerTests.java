@@ -0,0 +1,149 @@
+package com.madcamp.moody.spotify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Spotify 토큰 관리: 동시 요청은 한 번만 발급, 만료 전 백그라운드 갱신, 발급 실패/401 후 재발급
+ */
+class SpotifyTokenManagerTests {
+
+    private static final String KEY = SpotifyTokenManager.CLIENT_CREDENTIALS;
+    private static final long ONE_HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final AtomicInteger fetches = new AtomicInteger();
+    private SimpleMeterRegistry registry;
+    private SpotifyTokenManager manager;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        manager = new SpotifyTokenManager(300, 5000);
+        manager.bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.shutdown();
+    }
+
+    @Test
+    void concurrentCallsShareOneFetch() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        manager.register(KEY, () -> {
+            release.await();
+            return token(ONE_HOUR_MILLIS);
+        });
+
+        int callers = 8;
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> manager.getToken(KEY)));
+            }
+            // 한 요청이 발급 중이고 나머지는 모두 그 결과를 기다리는 상태가 될 때까지
+            awaitCount("moody.spotify.token.deduped_waits", callers - 1);
+            release.countDown();
+
+            for (Future<String> future : futures) {
+                assertEquals("token-1", future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, fetches.get());
+        assertEquals("token-1", manager.getToken(KEY));
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void tokenIsRefreshedBeforeExpiry() throws Exception {
+        // 수명 2초 토큰은 수명의 절반(1초)이 지나면 백그라운드에서 갱신
+        manager.register(KEY, () -> token(2000));
+
+        assertEquals("token-1", manager.getToken(KEY));
+        awaitCount("moody.spotify.token.refresh.proactive", 1);
+
+        assertTrue(fetches.get() >= 2);
+        assertEquals(0.0, count("moody.spotify.token.refresh.failures"));
+    }
+
+    @Test
+    void failedFetchReturnsNullAndNextCallRetries() {
+        manager.register(KEY, () -> {
+            if (fetches.incrementAndGet() == 1) {
+                throw new IllegalStateException("accounts.spotify.com 응답 없음");
+            }
+            return new SpotifyTokenManager.Token("token-" + fetches.get(), System.currentTimeMillis() + ONE_HOUR_MILLIS);
+        });
+
+        assertNull(manager.getToken(KEY));
+        assertEquals(1.0, count("moody.spotify.token.refresh.failures"));
+
+        assertEquals("token-2", manager.getToken(KEY));
+        assertEquals(1.0, count("moody.spotify.token.refresh.failures"));
+    }
+
+    @Test
+    void emptyTokenResponseIsFailure() {
+        manager.register(KEY, () -> null);
+
+        assertNull(manager.getToken(KEY));
+        assertEquals(1.0, count("moody.spotify.token.refresh.failures"));
+    }
+
+    @Test
+    void rejectedTokenIsFetchedAgain() {
+        manager.register(KEY, () -> token(ONE_HOUR_MILLIS));
+        assertEquals("token-1", manager.getToken(KEY));
+
+        manager.invalidate(KEY, "token-1");
+        assertEquals("token-2", manager.getToken(KEY));
+
+        // 이미 바뀐 토큰에 대한 늦은 401 은 새 토큰을 버리지 않음
+        manager.invalidate(KEY, "token-1");
+        assertEquals("token-2", manager.getToken(KEY));
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void fetcherIsRegisteredOnce() {
+        manager.register(KEY, () -> token(ONE_HOUR_MILLIS));
+
+        assertThrows(IllegalStateException.class, () -> manager.register(KEY, () -> token(ONE_HOUR_MILLIS)));
+        assertThrows(IllegalArgumentException.class, () -> manager.getToken("unknown"));
+    }
+
+    private SpotifyTokenManager.Token token(long lifetimeMillis) {
+        return new SpotifyTokenManager.Token("token-" + fetches.incrementAndGet(), System.currentTimeMillis() + lifetimeMillis);
+    }
+
+    private double count(String name) {
+        return registry.get(name).functionCounter().count();
+    }
+
+    private void awaitCount(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(name) < expected) {
+            assertTrue(System.nanoTime() < deadline, name + " 가 " + expected + " 에 도달하지 않음");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.madcamp.moody.user;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @CurrentUser 조회 기준이 컨트롤러가 직접 조회하던 방식과 같은지 확인
+ * - 기본(OAUTH_ID): oauth_id 로만 조회 (DiaryController, AuthController_spotify)
+ * - SPOTIFY_OAUTH_ID: Spotify principal(display_name 있음)일 때만 spotify_oauth_id 로 조회 (MoodController)
+ */
+class CurrentUserArgumentResolverTests {
+
+    private final UserLookupService lookupService = mock(UserLookupService.class);
+    private final CurrentUserArgumentResolver resolver = new CurrentUserArgumentResolver(lookupService);
+
+    @SuppressWarnings("unused")
+    void handler(@CurrentUser User byOauthId, @CurrentUser(CurrentUser.Lookup.SPOTIFY_OAUTH_ID) User bySpotifyId) {
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void defaultLookupUsesOauthIdOnly() throws Exception {
+        User user = new User();
+        when(lookupService.findByOauthId("42")).thenReturn(user);
+        login(false);
+
+        assertSame(user, resolve(0, newRequest()));
+        verify(lookupService, never()).findBySpotifyOauthId(anyString());
+    }
+
+    @Test
+    void defaultLookupDoesNotFallBackToSpotifyId() throws Exception {
+        when(lookupService.findBySpotifyOauthId("42")).thenReturn(new User());
+        login(true);
+
+        assertNull(resolve(0, newRequest()));
+        verify(lookupService, never()).findBySpotifyOauthId(anyString());
+    }
+
+    @Test
+    void spotifyLookupRequiresSpotifyPrincipal() throws Exception {
+        User user = new User();
+        when(lookupService.findBySpotifyOauthId("42")).thenReturn(user);
+
+        login(false);
+        assertNull(resolve(1, newRequest()));
+
+        login(true);
+        assertSame(user, resolve(1, newRequest()));
+        verify(lookupService, never()).findByOauthId(anyString());
+    }
+
+    @Test
+    void resolvesOncePerRequestAndLookup() throws Exception {
+        when(lookupService.findByOauthId("42")).thenReturn(new User());
+        when(lookupService.findBySpotifyOauthId("42")).thenReturn(new User());
+        login(true);
+
+        NativeWebRequest request = newRequest();
+        resolve(0, request);
+        resolve(0, request);
+        resolve(1, request);
+
+        verify(lookupService, times(1)).findByOauthId("42");
+        verify(lookupService, times(1)).findBySpotifyOauthId("42");
+    }
+
+    private Object resolve(int parameterIndex, NativeWebRequest request) throws Exception {
+        MethodParameter parameter = new MethodParameter(
+                getClass().getDeclaredMethod("handler", User.class, User.class), parameterIndex);
+        return resolver.resolveArgument(parameter, null, request, null);
+    }
+
+    private static NativeWebRequest newRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest());
+    }
+
+    private static void login(boolean spotify) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("id", 42);
+        if (spotify) {
+            attributes.put("display_name", "moody");
+        }
+        DefaultOAuth2User principal = new DefaultOAuth2User(AuthorityUtils.createAuthorityList("ROLE_USER"), attributes, "id");
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(principal, null, "ROLE_USER"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.madcamp.moody.user;
+
+import com.madcamp.moody.music.MusicRegion;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 캐시가 요청마다 새 복사본을 돌려주고, 복사본을 바꿔도 캐시된 값은 그대로인지 확인
+ */
+class UserLookupServiceTests {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserLookupService lookupService = new UserLookupService(userRepository, 100, 300);
+
+    @Test
+    void returnsIndependentCopiesOfCachedUser() {
+        when(userRepository.findByOauthId("spotify-1")).thenReturn(user());
+
+        User first = lookupService.findByOauthId("spotify-1");
+        first.setSpotifyAccessToken("changed-by-another-request");
+        first.setMusicGenres("[\"metal\"]");
+        User second = lookupService.findByOauthId("spotify-1");
+
+        assertNotSame(first, second);
+        assertEquals("token", second.getSpotifyAccessToken());
+        assertEquals("[\"pop\",\"k_pop\"]", second.getMusicGenres());
+        assertEquals(MusicRegion.DOMESTIC, second.getMusicRegion());
+        assertEquals(7L, second.getId());
+        verify(userRepository, times(1)).findByOauthId("spotify-1");
+    }
+
+    @Test
+    void loadedEntityIsNotHandedOut() {
+        User entity = user();
+        when(userRepository.findBySpotifyOauthId("spotify-1")).thenReturn(entity);
+
+        User loaded = lookupService.findBySpotifyOauthId("spotify-1");
+        entity.setName("modified after load");
+
+        assertNotSame(entity, loaded);
+        assertEquals("moody", lookupService.findBySpotifyOauthId("spotify-1").getName());
+    }
+
+    @Test
+    void invalidateReloadsAndMissingUsersAreNotCached() {
+        when(userRepository.findByOauthId("spotify-1")).thenReturn(user());
+        lookupService.findByOauthId("spotify-1");
+
+        lookupService.invalidate(user());
+        lookupService.findByOauthId("spotify-1");
+        verify(userRepository, times(2)).findByOauthId("spotify-1");
+
+        assertNull(lookupService.findByOauthId("unknown"));
+        assertNull(lookupService.findByOauthId("unknown"));
+        verify(userRepository, times(2)).findByOauthId("unknown");
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(7L);
+        user.setName("moody");
+        user.setOauthId("spotify-1");
+        user.setSpotifyOauthId("spotify-1");
+        user.setSpotifyAccessToken("token");
+        user.setMusicRegion(MusicRegion.DOMESTIC);
+        user.setMusicGenres("[\"pop\",\"k_pop\"]");
+        return user;
+    }
+}